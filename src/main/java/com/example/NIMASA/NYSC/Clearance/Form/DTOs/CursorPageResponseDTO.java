@@ -0,0 +1,20 @@
+package com.example.NIMASA.NYSC.Clearance.Form.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass nextCursor back as ?cursor=
+ * to get the following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponseDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,90 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of verified access-token claims.
+ * -------------------------------------------------------------
+ * The frontend polls a few endpoints with the same access token many
+ * times a minute. Instead of re-verifying the signature every time we
+ * keep the verified claims, keyed by a SHA-256 digest of the token
+ * (raw tokens are never held in memory), until the token's own exp.
+ *
+ * Revocation purges entries by token family or by username so the next
+ * request goes back through full verification.
+ */
+@Component
+public class AccessTokenCache {
+
+    private final Cache<ByteBuffer, VerifiedClaims> cache;
+
+    public AccessTokenCache(@Value("${security.token-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedClaims>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedClaims claims, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(claims.remainingMillis());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedClaims claims, long currentTime, long currentDuration) {
+                        return TimeUnit.MILLISECONDS.toNanos(claims.remainingMillis());
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Return cached claims for this token, or run the verifier once and cache the result.
+     * Verification failures are not cached and propagate to the caller.
+     */
+    public VerifiedClaims getOrVerify(String token, Function<String, VerifiedClaims> verifier) {
+        return cache.get(TokenHasher.key(TokenHasher.sha256(token)), key -> verifier.apply(token));
+    }
+
+    /**
+     * Drop every cached access token belonging to a token family (single session logout)
+     */
+    public void evictFamily(String tokenFamily) {
+        if (tokenFamily == null) return;
+        cache.asMap().values().removeIf(claims -> tokenFamily.equals(claims.family()));
+    }
+
+    /**
+     * Drop every cached access token for a user (logout all devices)
+     */
+    public void evictSubject(String username) {
+        if (username == null) return;
+        cache.asMap().values().removeIf(claims -> username.equalsIgnoreCase(claims.subject()));
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
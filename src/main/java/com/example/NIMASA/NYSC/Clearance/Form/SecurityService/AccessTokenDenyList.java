@@ -0,0 +1,105 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ACCESS TOKEN DENY LIST
+ * -------------------------------------------------------------
+ * Access tokens are stateless and live for hours, so revoking the refresh
+ * token alone leaves them usable. Revocations are recorded here and the
+ * JWT filter checks every request against it with two hash lookups:
+ *   - family: single-session logout / reuse detection; capped at
+ *     max-families entries
+ *   - subject not-before: "logout all devices" / deactivation; one entry
+ *     per user however many sessions they had, so it stays bounded by the
+ *     number of employees
+ *
+ * When a burst of logouts overflows the family cap, the evicted family is
+ * turned into a not-before entry for its user: broader (their other
+ * sessions have to log in again) but no revocation is lost.
+ *
+ * Entries expire after the access token lifetime: by then every token
+ * they could match has expired anyway. In-memory per instance.
+ */
+@Component
+public class AccessTokenDenyList {
+
+    // Token family -> its user, for the not-before fallback on eviction
+    private final Cache<String, String> deniedFamilies;
+    private final Cache<String, Long> subjectNotBefore;
+    private final AtomicLong overflows = new AtomicLong();
+
+    public AccessTokenDenyList(JwtService jwtService,
+                               @Value("${security.deny-list.max-families:100000}") long maxFamilies) {
+        Duration lifetime = Duration.ofMillis(jwtService.getAccessTokenExpirationMs());
+        this.subjectNotBefore = Caffeine.newBuilder().expireAfterWrite(lifetime).build();
+        this.deniedFamilies = Caffeine.newBuilder()
+                .expireAfterWrite(lifetime)
+                .maximumSize(maxFamilies)
+                // Evict on the writer's thread so the fallback is in place when denyFamily returns
+                .executor(Runnable::run)
+                // Runs atomically with the eviction, so the family is never unguarded in between
+                .<String, String>evictionListener((family, username, cause) -> {
+                    if (cause == RemovalCause.SIZE && username != null) {
+                        overflows.incrementAndGet();
+                        denySubject(username);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Deny every access token of this session; username is the fallback if the entry is evicted
+     */
+    public void denyFamily(String tokenFamily, String username) {
+        if (tokenFamily == null) return;
+        if (username == null) {
+            throw new IllegalArgumentException("username is required to deny a token family");
+        }
+        deniedFamilies.put(tokenFamily, normalize(username));
+    }
+
+    /**
+     * Deny every access token of this user issued before now
+     */
+    public void denySubject(String username) {
+        if (username == null) return;
+        // JWT iat has second precision: a token issued in the current second stays valid
+        long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        subjectNotBefore.asMap().merge(normalize(username), nowSeconds, Math::max);
+    }
+
+    public boolean isDenied(VerifiedClaims claims) {
+        if (claims.family() != null && deniedFamilies.getIfPresent(claims.family()) != null) {
+            return true;
+        }
+        if (claims.subject() == null || claims.issuedAt() == null) {
+            return false;
+        }
+        Long notBefore = subjectNotBefore.getIfPresent(normalize(claims.subject()));
+        return notBefore != null && TimeUnit.MILLISECONDS.toSeconds(claims.issuedAt().getTime()) < notBefore;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("deniedFamilies", deniedFamilies.estimatedSize());
+        stats.put("deniedSubjects", subjectNotBefore.estimatedSize());
+        stats.put("familyOverflows", overflows.get());
+        return stats;
+    }
+
+    private String normalize(String username) {
+        return username.toLowerCase().trim();
+    }
+}
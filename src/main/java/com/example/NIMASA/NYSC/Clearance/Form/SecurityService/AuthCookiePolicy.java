@@ -0,0 +1,80 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * AUTH COOKIE POLICY
+ * -------------------------------------------------------------
+ * One place that knows how the accessToken / refreshToken cookies look:
+ *   - ENVIRONMENT is read once at startup (development = SameSite=Lax,
+ *     no Secure flag; anything else = SameSite=None; Secure)
+ *   - every Set-Cookie, including the logout clear, uses Path=/ so the
+ *     clear actually replaces the cookie set at login
+ *   - the attribute tail of each header is built once, so writing a
+ *     cookie is a single string concatenation per response
+ */
+@Component
+public class AuthCookiePolicy {
+
+    public static final String ACCESS_TOKEN = "accessToken";
+    public static final String REFRESH_TOKEN = "refreshToken";
+
+    private final String accessTokenAttributes;
+    private final String refreshTokenAttributes;
+    private final String clearAccessToken;
+    private final String clearRefreshToken;
+
+    public AuthCookiePolicy(JwtService jwtService,
+                            @Value("${ENVIRONMENT:production}") String environment) {
+        boolean development = "development".equalsIgnoreCase(environment);
+
+        String common = development
+                ? "; Path=/; HttpOnly; SameSite=Lax"
+                : "; Path=/; HttpOnly; SameSite=None; Secure";
+        this.accessTokenAttributes = common + "; Max-Age=" + jwtService.getAccessTokenExpirationMs() / 1000;
+        this.refreshTokenAttributes = common + "; Max-Age=" + jwtService.getRefreshTokenExpirationMs() / 1000;
+        this.clearAccessToken = ACCESS_TOKEN + "=" + common + "; Max-Age=0";
+        this.clearRefreshToken = REFRESH_TOKEN + "=" + common + "; Max-Age=0";
+    }
+
+    public void setAccessToken(HttpServletResponse response, String accessToken) {
+        response.addHeader(HttpHeaders.SET_COOKIE, ACCESS_TOKEN + "=" + accessToken + accessTokenAttributes);
+    }
+
+    public void setRefreshToken(HttpServletResponse response, String refreshToken) {
+        response.addHeader(HttpHeaders.SET_COOKIE, REFRESH_TOKEN + "=" + refreshToken + refreshTokenAttributes);
+    }
+
+    /**
+     * Expire both auth cookies (same name, path and flags as when they were set)
+     */
+    public void clear(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, clearAccessToken);
+        response.addHeader(HttpHeaders.SET_COOKIE, clearRefreshToken);
+    }
+
+    public String readAccessToken(HttpServletRequest request) {
+        return read(request, ACCESS_TOKEN);
+    }
+
+    public String readRefreshToken(HttpServletRequest request) {
+        return read(request, REFRESH_TOKEN);
+    }
+
+    private String read(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return null;
+        for (Cookie cookie : cookies) {
+            // A cleared cookie some clients still send back is the same as no cookie
+            if (name.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Current authorization version per employee.
+ * -------------------------------------------------------------
+ * Access tokens carry the employee's authzVersion at issue time. The JWT
+ * filter only trusts the role/department claims when that version still
+ * matches; otherwise it falls back to the database-backed principal.
+ *
+ * Versions are cached briefly (one tiny single-column query per user per
+ * TTL) and invalidated locally as soon as an employee is edited.
+ */
+@Component
+public class AuthzVersionRegistry {
+
+    // Stored for employees that no longer exist or are inactive
+    private static final long NO_EMPLOYEE = -1L;
+
+    private final LoadingCache<String, Long> versions;
+
+    public AuthzVersionRegistry(EmployeeRepository employeeRepository,
+                                @Value("${security.authz.version-cache.ttl-seconds:60}") long ttlSeconds,
+                                @Value("${security.authz.version-cache.max-size:1000}") long maxSize) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build(username -> employeeRepository.findActiveAuthzVersionByUsername(username)
+                        .orElse(NO_EMPLOYEE));
+    }
+
+    /**
+     * True when the token's authz version is still the employee's current one
+     */
+    public boolean isCurrent(String username, long tokenAuthzVersion) {
+        Long current = versions.get(normalize(username));
+        return current != null && current != NO_EMPLOYEE && current == tokenAuthzVersion;
+    }
+
+    public void invalidate(String username) {
+        if (username == null) return;
+        versions.invalidate(normalize(username));
+    }
+
+    private String normalize(String username) {
+        return username.toLowerCase().trim();
+    }
+}
@@ -6,26 +6,73 @@ import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
 //import com.example.NIMASA.NYSC.Clearance.Form.model.Admin;
 //import com.example.NIMASA.NYSC.Clearance.Form.securityModel.AdminPrincipal;
 import com.example.NIMASA.NYSC.Clearance.Form.securityModel.EmployeePrincipal;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
-@RequiredArgsConstructor
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final EmployeeRepository employeeRepository;
 
+    // Principals keyed by lower-cased username so the JWT filter does not hit
+    // Postgres on every API call. Entries are evicted by UnifiedAuthService
+    // whenever an employee is edited or removed; the TTL bounds staleness
+    // for changes made on another instance.
+    private final Cache<String, EmployeePrincipal> principalCache;
+
+    public CustomUserDetailsService(EmployeeRepository employeeRepository,
+                                    @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                                    @Value("${security.principal-cache.max-size:1000}") long maxSize) {
+        this.employeeRepository = employeeRepository;
+        this.principalCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // 👇 CHANGED: Now looks up by username (e.g., "Initial.Admin")
-        Employee employee = employeeRepository.findByUsernameIgnoreCaseAndActive(username, true)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        // Misses are not cached: the loader throws and nothing is stored
+        return principalCache.get(normalize(username), key -> {
+            Employee employee = employeeRepository.findByUsernameIgnoreCaseAndActive(username, true)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+
+            return new EmployeePrincipal(employee);
+        });
+    }
+
+    /**
+     * Drop the cached principal after the employee's role, department, password or status changed
+     */
+    public void evictPrincipal(String username) {
+        if (username == null) return;
+        principalCache.invalidate(normalize(username));
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = principalCache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", principalCache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
 
-        return new EmployeePrincipal(employee);
+    private String normalize(String username) {
+        return username.toLowerCase().trim();
     }
 }
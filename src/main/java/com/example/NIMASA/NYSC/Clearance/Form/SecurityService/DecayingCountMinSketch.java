@@ -0,0 +1,149 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-memory, approximate failure counter for high-cardinality keys (client IPs).
+ * -------------------------------------------------------------
+ * Count-min sketch (depth rows x width counters) that never under-counts.
+ * Two sketches are kept: the current window and the previous one. The
+ * estimate weights the previous window by how much of it still overlaps
+ * the sliding window, the same approximation used by sliding-window
+ * rate limiters. Memory is 2 x depth x width ints regardless of how many
+ * distinct IPs an attacker uses.
+ *
+ * Each row hashes the key's UTF-8 bytes with murmur3_32 under its own seed,
+ * random per process, so rows collide independently and colliding keys
+ * cannot be precomputed (String.hashCode collisions such as "Aa"/"BB" are
+ * trivial to generate and would land together in every row).
+ */
+class DecayingCountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long windowMillis;
+    private final int[] seeds;
+
+    private volatile Windows windows;
+
+    private static final class Windows {
+        final long start;
+        final AtomicIntegerArray current;
+        final AtomicIntegerArray previous;
+
+        Windows(long start, AtomicIntegerArray current, AtomicIntegerArray previous) {
+            this.start = start;
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+
+    DecayingCountMinSketch(int depth, int width, long windowMillis) {
+        this.depth = depth;
+        this.width = width;
+        this.windowMillis = windowMillis;
+        this.seeds = new int[depth];
+        SecureRandom random = new SecureRandom();
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = random.nextInt();
+        }
+        this.windows = new Windows(System.currentTimeMillis(),
+                new AtomicIntegerArray(depth * width), new AtomicIntegerArray(depth * width));
+    }
+
+    void add(String key, long now) {
+        Windows w = rotateIfNeeded(now);
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        for (int row = 0; row < depth; row++) {
+            w.current.incrementAndGet(index(row, bytes));
+        }
+    }
+
+    /**
+     * Approximate failures for this key over the last window (never lower than the true count)
+     */
+    int estimate(String key, long now) {
+        Windows w = rotateIfNeeded(now);
+        double previousWeight = 1.0 - Math.min(1.0, (double) (now - w.start) / windowMillis);
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int i = index(row, bytes);
+            min = Math.min(min, w.current.get(i) + w.previous.get(i) * previousWeight);
+        }
+        return (int) Math.ceil(min);
+    }
+
+    /**
+     * Millis until the current window rolls over and old failures start to decay
+     */
+    long millisUntilRotation(long now) {
+        return Math.max(0, windows.start + windowMillis - now);
+    }
+
+    private Windows rotateIfNeeded(long now) {
+        Windows w = windows;
+        if (now - w.start < windowMillis) {
+            return w;
+        }
+        synchronized (this) {
+            w = windows;
+            long elapsed = now - w.start;
+            if (elapsed < windowMillis) {
+                return w;
+            }
+            // Skipped a whole window: nothing from the old current window is still relevant
+            AtomicIntegerArray previous = elapsed < 2 * windowMillis
+                    ? w.current
+                    : new AtomicIntegerArray(depth * width);
+            windows = new Windows(now - (elapsed % windowMillis), new AtomicIntegerArray(depth * width), previous);
+            return windows;
+        }
+    }
+
+    private int index(int row, byte[] key) {
+        return row * width + Math.floorMod(murmur3(key, seeds[row]), width);
+    }
+
+    /**
+     * MurmurHash3 x86_32 of the bytes under the given seed
+     */
+    static int murmur3(byte[] data, int seed) {
+        int h = seed;
+        int blocks = data.length / 4;
+        for (int i = 0; i < blocks; i++) {
+            int j = i * 4;
+            int k = (data[j] & 0xff) | (data[j + 1] & 0xff) << 8 | (data[j + 2] & 0xff) << 16 | data[j + 3] << 24;
+            h ^= mixK(k);
+            h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+        }
+
+        int tail = blocks * 4;
+        int k = 0;
+        switch (data.length & 3) {
+            case 3:
+                k ^= (data[tail + 2] & 0xff) << 16;
+            case 2:
+                k ^= (data[tail + 1] & 0xff) << 8;
+            case 1:
+                k ^= data[tail] & 0xff;
+                h ^= mixK(k);
+        }
+
+        h ^= data.length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int mixK(int k) {
+        k *= 0xcc9e2d51;
+        k = Integer.rotateLeft(k, 15);
+        return k * 0x1b873593;
+    }
+}
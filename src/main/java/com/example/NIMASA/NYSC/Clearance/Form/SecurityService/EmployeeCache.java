@@ -0,0 +1,61 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Active employees looked up at login, keyed by lower-cased username.
+ * Bounded (Caffeine's W-TinyLFU eviction) with a TTL; every Employee
+ * mutation in UnifiedAuthService invalidates the entry, the TTL only
+ * bounds staleness for changes made on another instance.
+ */
+@Component
+public class EmployeeCache {
+
+    private final Cache<String, Employee> cache;
+
+    public EmployeeCache(@Value("${security.employee-cache.ttl-seconds:300}") long ttlSeconds,
+                         @Value("${security.employee-cache.max-size:1000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    public Employee get(String username) {
+        return username == null ? null : cache.getIfPresent(normalize(username));
+    }
+
+    public void put(Employee employee) {
+        cache.put(normalize(employee.getUsername()), employee);
+    }
+
+    public void invalidate(String username) {
+        if (username == null) return;
+        cache.invalidate(normalize(username));
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private String normalize(String username) {
+        return username.toLowerCase().trim();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+/**
+ * Thrown when the password hashing executor is saturated.
+ * The controller turns this into 503 + Retry-After; it is not a failed login.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public HashingCapacityExceededException(long retryAfterSeconds) {
+        super("Login service is busy. Please try again shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
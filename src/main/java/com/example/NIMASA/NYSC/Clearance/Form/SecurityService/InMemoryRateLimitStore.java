@@ -0,0 +1,199 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-instance rate limit store.
+ *   - USERNAME: exact sliding window (ring buffer of attempt times), capped map
+ *   - IP: approximate, decaying count-min sketch in fixed memory
+ */
+@Component
+@ConditionalOnProperty(name = "security.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    // Ring buffer size: only the last max-attempts failures can decide a block
+    @Value("${security.rate-limit.login.max-attempts:5}")
+    private int maxLoginAttempts;
+
+    @Value("${security.rate-limit.login.window-minutes:15}")
+    private int timeWindowMinutes;
+
+    // Hard cap on tracked usernames so spraying random names cannot grow the map forever
+    @Value("${security.rate-limit.login.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+
+    @Value("${security.rate-limit.login.ip-sketch-depth:4}")
+    private int ipSketchDepth;
+
+    @Value("${security.rate-limit.login.ip-sketch-width:8192}")
+    private int ipSketchWidth;
+
+    // How many entries to look at when picking one to evict from a full map
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    private final Map<String, LoginAttemptRecord> loginAttempts = new ConcurrentHashMap<>();
+
+    private DecayingCountMinSketch ipFailures;
+
+    @PostConstruct
+    void init() {
+        ipFailures = new DecayingCountMinSketch(ipSketchDepth, ipSketchWidth, windowMillis());
+    }
+
+    @Override
+    public void recordFailures(Map<Scope, String> keys, long nowMillis) {
+        keys.forEach((scope, key) -> recordFailure(scope, key, nowMillis));
+    }
+
+    private void recordFailure(Scope scope, String key, long nowMillis) {
+        if (scope == Scope.IP) {
+            ipFailures.add(key, nowMillis);
+            return;
+        }
+
+        LoginAttemptRecord record = loginAttempts.get(key);
+        if (record == null) {
+            if (loginAttempts.size() >= maxTrackedKeys) {
+                evictOne();
+            }
+            record = loginAttempts.computeIfAbsent(key, k -> new LoginAttemptRecord(maxLoginAttempts));
+        }
+        record.addFailedAttempt(nowMillis);
+    }
+
+    @Override
+    public int getFailures(Scope scope, String key, long nowMillis) {
+        if (scope == Scope.IP) {
+            return ipFailures.estimate(key, nowMillis);
+        }
+
+        LoginAttemptRecord record = loginAttempts.get(key);
+        return record == null ? 0 : record.countSince(nowMillis - windowMillis());
+    }
+
+    @Override
+    public long getRetryAfterMillis(Scope scope, String key, int limit, long nowMillis) {
+        if (getFailures(scope, key, nowMillis) < limit) {
+            return 0;
+        }
+        if (scope == Scope.IP) {
+            // Approximate: old failures start to decay once the current window rolls over
+            return ipFailures.millisUntilRotation(nowMillis);
+        }
+
+        LoginAttemptRecord record = loginAttempts.get(key);
+        long oldestAttempt = record == null ? -1 : record.getOldestAttemptSince(nowMillis - windowMillis());
+        return oldestAttempt < 0 ? 0 : Math.max(0, oldestAttempt + windowMillis() - nowMillis);
+    }
+
+    /**
+     * IP counts cannot be removed from the sketch; they decay with the window
+     */
+    @Override
+    public void reset(Scope scope, String key) {
+        if (scope == Scope.USERNAME) {
+            loginAttempts.remove(key);
+        }
+    }
+
+    @Override
+    public void sweep(long nowMillis) {
+        long cutoff = nowMillis - windowMillis();
+        loginAttempts.values().removeIf(record -> record.getLastAttemptTime() < cutoff);
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("store", "memory");
+        stats.put("trackedUsernames", loginAttempts.size());
+        return stats;
+    }
+
+    /**
+     * Map is full: evict the least recently active record out of a small sample
+     * (same idea as Redis' approximated LRU) instead of scanning everything
+     */
+    private void evictOne() {
+        String victim = null;
+        long oldest = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, LoginAttemptRecord>> it = loginAttempts.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); i++) {
+            Map.Entry<String, LoginAttemptRecord> entry = it.next();
+            long last = entry.getValue().getLastAttemptTime();
+            if (last < oldest) {
+                oldest = last;
+                victim = entry.getKey();
+            }
+        }
+        if (victim != null) {
+            loginAttempts.remove(victim);
+        }
+    }
+
+    private long windowMillis() {
+        return TimeUnit.MINUTES.toMillis(timeWindowMinutes);
+    }
+
+    /**
+     * Fixed-size ring buffer of attempt times (epoch millis) for one username.
+     * Only the last maxLoginAttempts attempts can ever decide a block, so
+     * nothing older is kept and recording an attempt allocates nothing.
+     */
+    private static class LoginAttemptRecord {
+        private final long[] attempts;
+        private int next;
+        private int size;
+        private volatile long lastAttemptTime;
+
+        LoginAttemptRecord(int capacity) {
+            this.attempts = new long[Math.max(1, capacity)];
+        }
+
+        public synchronized void addFailedAttempt(long now) {
+            attempts[next] = now;
+            next = (next + 1) % attempts.length;
+            if (size < attempts.length) {
+                size++;
+            }
+            lastAttemptTime = now;
+        }
+
+        public synchronized int countSince(long cutoff) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (attempts[i] >= cutoff) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public long getLastAttemptTime() {
+            return lastAttemptTime;
+        }
+
+        /**
+         * Oldest attempt still inside the window, or -1 if none
+         */
+        public synchronized long getOldestAttemptSince(long cutoff) {
+            long oldest = -1;
+            for (int i = 0; i < size; i++) {
+                long attempt = attempts[i];
+                if (attempt >= cutoff && (oldest < 0 || attempt < oldest)) {
+                    oldest = attempt;
+                }
+            }
+            return oldest;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.model.RefreshToken;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Synchronous store on RefreshTokenRepository: every change is committed
+ * before the request returns. Safe for any number of instances.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "security.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    @Transactional
+    public void save(RefreshToken token) {
+        refreshTokenRepository.save(token);
+    }
+
+    @Override
+    public Optional<RefreshToken> findActiveByDigest(byte[] digest) {
+        return refreshTokenRepository.findByTokenAndRevokedFalse(digest);
+    }
+
+    /**
+     * Conditional UPDATE instead of read-modify-write: of two concurrent
+     * rotations of the same token only one sees revoked = false
+     */
+    @Override
+    @Transactional
+    public boolean rotate(RefreshToken current, RefreshToken replacement) {
+        if (refreshTokenRepository.revokeActiveToken(current.getId()) == 0) {
+            return false;
+        }
+        refreshTokenRepository.save(replacement);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public int revokeFamily(String tokenFamily) {
+        return refreshTokenRepository.revokeTokenFamily(tokenFamily);
+    }
+
+    @Override
+    @Transactional
+    public int revokeAllForEmployee(String employeeName) {
+        return refreshTokenRepository.revokeAllTokensForEmployee(employeeName);
+    }
+
+    @Override
+    public long countActiveSessions(String employeeName, LocalDateTime now) {
+        return refreshTokenRepository.countActiveSessionsForEmployee(employeeName, now);
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        return Map.of("store", "jpa");
+    }
+}
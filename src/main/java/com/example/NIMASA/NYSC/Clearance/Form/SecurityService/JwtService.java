@@ -1,25 +1,29 @@
 
 package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
 
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.*;
-import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    // Version of the compact "authz" claim layout below; bump when its keys change
+    private static final int AUTHZ_SCHEMA_VERSION = 1;
+
     @Value("${spring.jwt.secret}")
     private String secretKey;
 
@@ -32,33 +36,47 @@ public class JwtService {
     @Value("${spring.jwt.refresh-token.expiration}")
     private long refreshTokenExpirationMs;
 
-    public JwtService(){
-        try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey sk = keyGen.generateKey();
-            Base64.getEncoder().encodeToString((sk.getEncoded()));
-        }
-        catch (NoSuchAlgorithmException e){
-            throw new RuntimeException(e);
-        }
+    // Built once at startup - decoding the secret and building a parser per call was
+    // the dominant cost of every authenticated request
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
      * Generate short-lived access token (15 minutes)
      * Used for API authentication
+     * Carries the session's token family so revocation can target it, plus
+     * the employee's role/department/name so requests need no DB lookup
      */
-    public String generateAccessToken(String username){
+    public String generateAccessToken(Employee employee, String tokenFamily){
+        Map<String, Object> authz = new HashMap<>();
+        authz.put("v", AUTHZ_SCHEMA_VERSION);
+        authz.put("r", employee.getRole().name());
+        authz.put("d", employee.getDepartment());
+        authz.put("n", employee.getName());
+        authz.put("av", employee.getAuthzVersion());
+
         Map<String, Object> claims = new HashMap<>();
         claims.put("type", "access"); // Token type for validation
+        claims.put("family", tokenFamily); // Session this access token belongs to
+        claims.put("authz", authz); // Compact authorization claim set
 
         return Jwts.builder()
                 .claims()
                 .add(claims)
-                .subject(username)
+                .subject(employee.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + accessTokenExpirationMs))
                 .and()
-                .signWith(getKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -74,11 +92,12 @@ public class JwtService {
         return Jwts.builder()
                 .claims()
                 .add(claims)
+                .id(UUID.randomUUID().toString()) // Unique jti, so a rotation within the same second still gets a new digest
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + refreshTokenExpirationMs))
                 .and()
-                .signWith(getKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -99,21 +118,57 @@ public class JwtService {
 //        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
 //    }
 
+    /**
+     * Parse and verify a token exactly once.
+     * Throws a JwtException if the signature is invalid or the token has expired.
+     */
+    public VerifiedClaims verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.get("type", String.class),
+                claims.get("family", String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                extractAuthz(claims)
+        );
+    }
+
+    /**
+     * Read the authz claim set; tokens without one (refresh tokens, older
+     * access tokens, unknown schema versions) yield null
+     */
+    private VerifiedClaims.Authz extractAuthz(Claims claims) {
+        Object raw = claims.get("authz");
+        if (!(raw instanceof Map<?, ?> authz)) {
+            return null;
+        }
+        if (!(authz.get("v") instanceof Number version) || version.intValue() != AUTHZ_SCHEMA_VERSION) {
+            return null;
+        }
+        try {
+            return new VerifiedClaims.Authz(
+                    version.intValue(),
+                    UserRole.valueOf((String) authz.get("r")),
+                    (String) authz.get("d"),
+                    (String) authz.get("n"),
+                    ((Number) authz.get("av")).longValue()
+            );
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public String extractTokenType(String token) {
-        return extractClaim(token, claims -> claims.get("type", String.class));
+        return verify(token).type();
     }
 
     public String extractTokenFamily(String token) {
-        return extractClaim(token, claims -> claims.get("family", String.class));
-    }
-
-    private SecretKey getKey(){
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return verify(token).family();
     }
 
     /**
@@ -121,57 +176,40 @@ public class JwtService {
      */
     public boolean validateAccessToken(String token, UserDetails userDetails) {
         try {
-            final String userName = extractUsername(token);
-            final String tokenType = extractTokenType(token);
-
-            return (userName.equals(userDetails.getUsername())
-                    && "access".equals(tokenType)
-                    && !isTokenExpired(token));
+            return validateAccessToken(verify(token), userDetails);
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Validate already-verified access token claims against the loaded user
+     */
+    public boolean validateAccessToken(VerifiedClaims claims, UserDetails userDetails) {
+        return claims.subject() != null
+                && claims.subject().equals(userDetails.getUsername())
+                && claims.isAccessToken()
+                && !claims.isExpired();
+    }
+
     /**
      * Validate refresh token structure (database validation separate)
      */
     public boolean validateRefreshTokenStructure(String token) {
         try {
-            final String tokenType = extractTokenType(token);
-            return "refresh".equals(tokenType) && !isTokenExpired(token);
+            VerifiedClaims claims = verify(token);
+            return claims.isRefreshToken() && !claims.isExpired();
         } catch (Exception e) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims,T> claimResolver){
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
     public long getTokenRemainingTimeMinutes(String token) {
         try {
-            Date expiration = extractExpiration(token);
-            long remainingMs = expiration.getTime() - System.currentTimeMillis();
-            return Math.max(0, remainingMs / (1000 * 60)); // Convert to minutes
+            return verify(token).remainingMillis() / (1000 * 60); // Convert to minutes
         } catch (Exception e) {
             return 0;
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PASSWORD HASH POLICY
+ * -------------------------------------------------------------
+ * Picks the BCrypt work factor for this machine at startup instead of
+ * hardcoding it:
+ *   - time a few hashes at min-cost
+ *   - each +1 cost doubles the time, so take the highest cost whose
+ *     estimated time stays within target-ms (never below min-cost)
+ *
+ * BCrypt stores version, cost and salt inside every hash ($2a$12$...), so
+ * each Employee.password already carries its own parameters; a hash is
+ * out of policy when its cost is below the calibrated one. Stronger hashes
+ * (pinned higher earlier, or calibrated on a slower machine) are kept:
+ * rehashing them would lower their cost.
+ */
+@Slf4j
+@Component
+public class PasswordHashPolicy {
+
+    private static final int MAX_COST = 16;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final int cost;
+    private final double measuredMinCostMillis;
+
+    public PasswordHashPolicy(
+            @Value("${security.hashing.bcrypt.cost:0}") int fixedCost,
+            @Value("${security.hashing.bcrypt.min-cost:10}") int minCost,
+            @Value("${security.hashing.bcrypt.target-ms:150}") long targetMs) {
+        if (fixedCost > 0) {
+            this.cost = fixedCost;
+            this.measuredMinCostMillis = -1;
+            log.info("BCrypt cost {} fixed by configuration", cost);
+        } else {
+            this.measuredMinCostMillis = timeHashMillis(minCost);
+            this.cost = calibrate(minCost, targetMs, measuredMinCostMillis);
+            log.info("BCrypt cost {} selected (target {} ms, cost {} took {} ms)",
+                    cost, targetMs, minCost, measuredMinCostMillis);
+        }
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * True when the stored hash was made with a lower cost than the current policy
+     */
+    public boolean isOutOfPolicy(String encodedPassword) {
+        int storedCost = costOf(encodedPassword);
+        return storedCost > 0 && storedCost < cost;
+    }
+
+    public double getMeasuredMinCostMillis() {
+        return measuredMinCostMillis;
+    }
+
+    private static int calibrate(int minCost, long targetMs, double minCostMillis) {
+        int selected = minCost;
+        double estimate = minCostMillis;
+        while (selected < MAX_COST && estimate * 2 <= targetMs) {
+            estimate *= 2;
+            selected++;
+        }
+        return selected;
+    }
+
+    /**
+     * Fastest of a few runs, so a GC pause or JIT warmup does not inflate the estimate
+     */
+    private static double timeHashMillis(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration-password", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Cost field of a $2a$/$2b$/$2y$ hash, or -1 if it is not a BCrypt hash
+     */
+    private static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
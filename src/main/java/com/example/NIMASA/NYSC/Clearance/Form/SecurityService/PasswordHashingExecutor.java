@@ -0,0 +1,164 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PASSWORD HASHING EXECUTOR
+ * -------------------------------------------------------------
+ * BCrypt is deliberately slow. Running it on Tomcat request threads lets a
+ * login burst occupy every worker and starve cheap GETs, so password checks
+ * run here instead:
+ *   - fixed number of hashing threads (defaults to the CPU count)
+ *   - bounded queue; when it is full we fail fast (503 + Retry-After)
+ *     instead of piling up work nobody will wait for
+ *   - queue depth and hash latency exported for the admin metrics endpoint
+ *
+ * The wait timeout bounds how long a request waits, not how much work the
+ * pool does: BCrypt never checks for interruption, so a hash that has
+ * started runs to completion on its pool thread even after the caller gave
+ * up. A timed-out request that is still queued is removed from the queue
+ * and never hashed. Size the queue so a full queue drains well inside the
+ * timeout (queue-capacity / threads x hash time < wait-timeout-ms); then
+ * timeouts are rare and almost always hit still-queued work.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHashingExecutor(
+            BCryptPasswordEncoder encoder,
+            @Value("${security.hashing.threads:0}") int threads,
+            @Value("${security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.hashing.wait-timeout-ms:5000}") long waitTimeoutMs) {
+        this.encoder = encoder;
+        this.waitTimeoutMs = waitTimeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * BCrypt comparison on the hashing pool.
+     * Throws HashingCapacityExceededException when the pool cannot take or finish the work in time.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                totalQueueWaitNanos.add(startedAt - submittedAt);
+                try {
+                    return encoder.matches(rawPassword, encodedPassword);
+                } finally {
+                    recordHash(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingCapacityExceededException(estimateRetryAfterSeconds());
+        }
+
+        try {
+            return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Frees the queue slot if the hash has not started; a running hash cannot be stopped
+            result.cancel(false);
+            executor.remove((Runnable) result);
+            timedOut.increment();
+            throw new HashingCapacityExceededException(estimateRetryAfterSeconds());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password verification interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password verification failed", e.getCause());
+        }
+    }
+
+    /**
+     * Fire-and-forget background work on the hashing pool (e.g. rehashing).
+     * Returns false instead of throwing when the pool is saturated.
+     */
+    public boolean tryExecute(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hashes = completed.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        stats.put("completed", hashes);
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        stats.put("avgHashMillis", hashes == 0 ? 0 : totalHashNanos.sum() / hashes / 1_000_000.0);
+        stats.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        stats.put("avgQueueWaitMillis", hashes == 0 ? 0 : totalQueueWaitNanos.sum() / hashes / 1_000_000.0);
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void recordHash(long nanos) {
+        completed.increment();
+        totalHashNanos.add(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Time for the pool to drain what is queued now, at the observed hash latency
+     */
+    private long estimateRetryAfterSeconds() {
+        long hashes = completed.sum();
+        long avgHashNanos = hashes == 0 ? TimeUnit.MILLISECONDS.toNanos(100) : totalHashNanos.sum() / hashes;
+        long rounds = executor.getQueue().size() / executor.getMaximumPoolSize() + 1;
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(rounds * avgHashNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit store shared by every instance, backed by a Postgres UNLOGGED
+ * table (no WAL; counters are lost on a crash, which is fine for throttling).
+ * The table is created by the V5 Flyway migration; keys are stored as their
+ * SHA-256 digest, so an over-long username cannot fail the insert.
+ *
+ *   - Failed login: one INSERT ... ON CONFLICT DO UPDATE ... RETURNING for
+ *     both keys, i.e. one round trip. Failures are never deferred, otherwise
+ *     a burst spread over several instances could exceed the limit.
+ *   - Reads: served from a short-lived local near-cache; a miss fetches
+ *     every key of the login in one SELECT.
+ *   - Resets (successful logins) and sweeps: queued locally and flushed in
+ *     one batch on a schedule.
+ *
+ * Each row counts failures in a fixed window that starts at the first
+ * failure, so a blocked key is released window-minutes after that failure.
+ */
+@Component
+@ConditionalOnProperty(name = "security.rate-limit.store", havingValue = "postgres")
+public class PostgresRateLimitStore implements RateLimitStore {
+
+    // Expired window (window_start <= cutoff) restarts at this failure, otherwise increments
+    private static final String UPSERT_PREFIX =
+            "INSERT INTO login_rate_limits AS r (scope, rl_key, window_start, failures, updated_at) VALUES ";
+    private static final String UPSERT_SUFFIX = """
+             ON CONFLICT (scope, rl_key) DO UPDATE SET
+                window_start = CASE WHEN r.window_start <= ? THEN EXCLUDED.window_start ELSE r.window_start END,
+                failures     = CASE WHEN r.window_start <= ? THEN 1 ELSE r.failures + 1 END,
+                updated_at   = EXCLUDED.updated_at
+            RETURNING scope, window_start, failures""";
+
+    // Only delete if no failure landed after the reset (possibly on another instance)
+    private static final String DELETE_RESET =
+            "DELETE FROM login_rate_limits WHERE scope = ? AND rl_key = ? AND updated_at <= ?";
+
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM login_rate_limits WHERE window_start <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, Counter> nearCache;
+    private final Map<String, PendingReset> pendingResets = new ConcurrentHashMap<>();
+
+    @Value("${security.rate-limit.login.window-minutes:15}")
+    private int timeWindowMinutes;
+
+    public PostgresRateLimitStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${security.rate-limit.postgres.near-cache-ttl-ms:1000}") long nearCacheTtlMs,
+            @Value("${security.rate-limit.postgres.near-cache-max-size:10000}") long nearCacheMaxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nearCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(nearCacheTtlMs))
+                .maximumSize(nearCacheMaxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void recordFailures(Map<Scope, String> keys, long nowMillis) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        // Rare: a success and a failure for the same key inside one flush interval
+        keys.forEach((scope, key) -> {
+            PendingReset reset = pendingResets.remove(cacheKey(scope, key));
+            if (reset != null) {
+                jdbcTemplate.update(DELETE_RESET, scope.name(), TokenHasher.sha256(key), reset.resetAt());
+            }
+        });
+
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>();
+        keys.forEach((scope, key) -> {
+            values.add("(?, ?, ?, 1, ?)");
+            args.add(scope.name());
+            args.add(TokenHasher.sha256(key));
+            args.add(nowMillis);
+            args.add(nowMillis);
+        });
+        long cutoff = nowMillis - windowMillis();
+        args.add(cutoff);
+        args.add(cutoff);
+
+        jdbcTemplate.query(UPSERT_PREFIX + values + UPSERT_SUFFIX, rs -> {
+            Scope scope = Scope.valueOf(rs.getString("scope"));
+            nearCache.put(cacheKey(scope, keys.get(scope)),
+                    new Counter(rs.getLong("window_start"), rs.getInt("failures")));
+        }, args.toArray());
+    }
+
+    @Override
+    public int getFailures(Scope scope, String key, long nowMillis) {
+        return getFailures(Map.of(scope, key), nowMillis).getOrDefault(scope, 0);
+    }
+
+    @Override
+    public Map<Scope, Integer> getFailures(Map<Scope, String> keys, long nowMillis) {
+        Map<Scope, Integer> failures = new EnumMap<>(Scope.class);
+        for (Map.Entry<Scope, Counter> entry : counters(keys).entrySet()) {
+            failures.put(entry.getKey(), entry.getValue().failuresAt(nowMillis, windowMillis()));
+        }
+        return failures;
+    }
+
+    @Override
+    public long getRetryAfterMillis(Scope scope, String key, int limit, long nowMillis) {
+        Counter counter = counters(Map.of(scope, key)).get(scope);
+        if (counter == null || counter.failuresAt(nowMillis, windowMillis()) < limit) {
+            return 0;
+        }
+        return Math.max(0, counter.windowStart() + windowMillis() - nowMillis);
+    }
+
+    @Override
+    public void reset(Scope scope, String key) {
+        String cacheKey = cacheKey(scope, key);
+        nearCache.put(cacheKey, Counter.EMPTY);
+        pendingResets.put(cacheKey, new PendingReset(scope, key, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void sweep(long nowMillis) {
+        jdbcTemplate.update(DELETE_EXPIRED, nowMillis - windowMillis());
+    }
+
+    /**
+     * Flush queued resets in one JDBC batch
+     */
+    @Scheduled(fixedDelayString = "${security.rate-limit.postgres.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flushResets() {
+        if (pendingResets.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (String cacheKey : new ArrayList<>(pendingResets.keySet())) {
+            PendingReset reset = pendingResets.remove(cacheKey);
+            if (reset != null) {
+                batch.add(new Object[]{reset.scope().name(), TokenHasher.sha256(reset.key()), reset.resetAt()});
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_RESET, batch);
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("store", "postgres");
+        stats.put("nearCacheSize", nearCache.estimatedSize());
+        stats.put("nearCacheHitRate", nearCache.stats().hitRate());
+        stats.put("pendingResets", pendingResets.size());
+        return stats;
+    }
+
+    /**
+     * Counters for the given keys: near-cache first, then one SELECT for the
+     * misses. Keys without a row are cached as empty so they are not re-queried.
+     */
+    private Map<Scope, Counter> counters(Map<Scope, String> keys) {
+        Map<Scope, Counter> counters = new EnumMap<>(Scope.class);
+        Map<Scope, String> misses = new EnumMap<>(Scope.class);
+        keys.forEach((scope, key) -> {
+            Counter cached = nearCache.getIfPresent(cacheKey(scope, key));
+            if (cached != null) {
+                counters.put(scope, cached);
+            } else {
+                misses.put(scope, key);
+            }
+        });
+        if (misses.isEmpty()) {
+            return counters;
+        }
+
+        StringJoiner where = new StringJoiner(" OR ");
+        List<Object> args = new ArrayList<>();
+        misses.forEach((scope, key) -> {
+            where.add("(scope = ? AND rl_key = ?)");
+            args.add(scope.name());
+            args.add(TokenHasher.sha256(key));
+        });
+        jdbcTemplate.query("SELECT scope, window_start, failures FROM login_rate_limits WHERE " + where, rs -> {
+            counters.put(Scope.valueOf(rs.getString("scope")),
+                    new Counter(rs.getLong("window_start"), rs.getInt("failures")));
+        }, args.toArray());
+
+        misses.forEach((scope, key) -> nearCache.put(cacheKey(scope, key), counters.computeIfAbsent(scope, s -> Counter.EMPTY)));
+        return counters;
+    }
+
+    private long windowMillis() {
+        return TimeUnit.MINUTES.toMillis(timeWindowMinutes);
+    }
+
+    private static String cacheKey(Scope scope, String key) {
+        return scope.name() + ':' + key;
+    }
+
+    private record Counter(long windowStart, int failures) {
+        static final Counter EMPTY = new Counter(0, 0);
+
+        int failuresAt(long nowMillis, long windowMillis) {
+            return windowStart + windowMillis > nowMillis ? failures : 0;
+        }
+    }
+
+    private record PendingReset(Scope scope, String key, long resetAt) {
+    }
+}
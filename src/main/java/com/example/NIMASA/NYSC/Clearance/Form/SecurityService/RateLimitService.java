@@ -1,133 +1,115 @@
 package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
 
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RateLimitStore.Scope;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.EnumMap;
 import java.util.Map;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throttling on two keys, both checked before any BCrypt work:
+ *   - per username
+ *   - per client IP
+ *
+ * A botnet spraying one username from many IPs is stopped by the username
+ * limit; one IP trying many usernames is stopped by the IP limit. Counting
+ * is delegated to a RateLimitStore so several instances can share limits.
+ */
 @Service
+@RequiredArgsConstructor
 public class RateLimitService {
 
+    private final RateLimitStore store;
+
+    // Failures allowed per username inside the window
     @Value("${security.rate-limit.login.max-attempts:5}")
     private int maxLoginAttempts;
 
-    @Value("${security.rate-limit.login.window-minutes:15}")
-    private int timeWindowMinutes;
-
-    // In-memory storage for rate limiting (in production, use Redis)
-    private final Map<String, LoginAttemptRecord> loginAttempts = new ConcurrentHashMap<>();
+    // Failures allowed per client IP inside the window (shared by everyone behind a NAT)
+    @Value("${security.rate-limit.login.ip-max-attempts:20}")
+    private int maxIpAttempts;
 
     /**
-     * Check if login is allowed for this IP
+     * Check if a login attempt is allowed for this IP and username.
+     * username may be null when only the IP is known.
      */
-    public boolean isLoginAllowed(String clientIp) {
-        LoginAttemptRecord record = loginAttempts.get(clientIp);
-
-        if (record == null) {
-            return true; // No previous attempts
+    public boolean isLoginAllowed(String clientIp, String username) {
+        Map<Scope, Integer> failures = store.getFailures(keys(clientIp, username), System.currentTimeMillis());
+        if (failures.getOrDefault(Scope.IP, 0) >= maxIpAttempts) {
+            return false;
         }
-
-        // Clean up old attempts outside the time window
-        cleanupOldAttempts(record);
-
-        return record.getFailedAttempts() < maxLoginAttempts;
+        return failures.getOrDefault(Scope.USERNAME, 0) < maxLoginAttempts;
     }
 
     /**
-     * Record a failed login attempt
+     * Record a failed login attempt against both keys
      */
-    public void recordFailedLogin(String clientIp) {
-        LoginAttemptRecord record = loginAttempts.computeIfAbsent(clientIp, k -> new LoginAttemptRecord());
-        record.addFailedAttempt();
+    public void recordFailedLogin(String clientIp, String username) {
+        store.recordFailures(keys(clientIp, username), System.currentTimeMillis());
     }
 
     /**
-     * Record a successful login (resets failed attempts)
+     * Record a successful login (resets the username's failed attempts).
+     * IP failures are left to decay with the window.
      */
-    public void recordSuccessfulLogin(String clientIp) {
-        loginAttempts.remove(clientIp); // Reset on successful login
+    public void recordSuccessfulLogin(String clientIp, String username) {
+        if (username != null) {
+            store.reset(Scope.USERNAME, normalize(username)); // Reset on successful login
+        }
     }
 
     /**
-     * Get remaining attempts for an IP
+     * Get remaining attempts for an IP / username pair (the tighter of the two)
      */
-    public int getRemainingAttempts(String clientIp) {
-        LoginAttemptRecord record = loginAttempts.get(clientIp);
-        if (record == null) {
-            return maxLoginAttempts;
+    public int getRemainingAttempts(String clientIp, String username) {
+        Map<Scope, Integer> failures = store.getFailures(keys(clientIp, username), System.currentTimeMillis());
+        int remaining = Math.max(0, maxIpAttempts - failures.getOrDefault(Scope.IP, 0));
+        if (username == null) {
+            return remaining;
         }
-
-        cleanupOldAttempts(record);
-        return Math.max(0, maxLoginAttempts - record.getFailedAttempts());
+        return Math.min(remaining, Math.max(0, maxLoginAttempts - failures.getOrDefault(Scope.USERNAME, 0)));
     }
 
     /**
      * Get time until next attempt is allowed
      */
-    public long getTimeUntilNextAttemptMinutes(String clientIp) {
-        LoginAttemptRecord record = loginAttempts.get(clientIp);
-        if (record == null || record.getFailedAttempts() < maxLoginAttempts) {
-            return 0;
-        }
-
-        LocalDateTime oldestAttempt = record.getOldestAttemptTime();
-        if (oldestAttempt == null) {
-            return 0;
+    public long getTimeUntilNextAttemptMinutes(String clientIp, String username) {
+        long now = System.currentTimeMillis();
+        long waitMs = store.getRetryAfterMillis(Scope.IP, clientIp, maxIpAttempts, now);
+        if (username != null) {
+            waitMs = Math.max(waitMs, store.getRetryAfterMillis(Scope.USERNAME, normalize(username), maxLoginAttempts, now));
         }
 
-        LocalDateTime nextAllowedTime = oldestAttempt.plus(timeWindowMinutes, ChronoUnit.MINUTES);
-        return ChronoUnit.MINUTES.between(LocalDateTime.now(), nextAllowedTime);
-    }
-
-    /**
-     * Clean up attempts older than the time window
-     */
-    private void cleanupOldAttempts(LoginAttemptRecord record) {
-        LocalDateTime cutoffTime = LocalDateTime.now().minus(timeWindowMinutes, ChronoUnit.MINUTES);
-        record.removeOldAttempts(cutoffTime);
+        long minuteMs = TimeUnit.MINUTES.toMillis(1);
+        return Math.max(0, (waitMs + minuteMs - 1) / minuteMs); // round up so a blocked caller never sees 0
     }
 
     /**
-     * Manual cleanup - remove records with no recent attempts
+     * Scheduled sweep - drop counters with no failures inside the window
      */
+    @Scheduled(fixedDelayString = "${security.rate-limit.login.sweep-interval-ms:60000}")
     public void cleanupStaleRecords() {
-        LocalDateTime cutoffTime = LocalDateTime.now().minus(timeWindowMinutes * 2L, ChronoUnit.MINUTES);
-        loginAttempts.entrySet().removeIf(entry -> {
-            LoginAttemptRecord record = entry.getValue();
-            return record.getLastAttemptTime().isBefore(cutoffTime);
-        });
+        store.sweep(System.currentTimeMillis());
     }
 
-    /**
-     * Inner class to track login attempts for an IP
-     */
-    private static class LoginAttemptRecord {
-        private final ConcurrentHashMap<LocalDateTime, Boolean> attempts = new ConcurrentHashMap<>();
-        private volatile LocalDateTime lastAttemptTime = LocalDateTime.now();
-
-        public void addFailedAttempt() {
-            LocalDateTime now = LocalDateTime.now();
-            attempts.put(now, Boolean.FALSE);
-            lastAttemptTime = now;
-        }
-
-        public int getFailedAttempts() {
-            return attempts.size();
-        }
-
-        public LocalDateTime getLastAttemptTime() {
-            return lastAttemptTime;
-        }
+    public Map<String, Object> stats() {
+        return store.stats();
+    }
 
-        public LocalDateTime getOldestAttemptTime() {
-            return attempts.keySet().stream().min(LocalDateTime::compareTo).orElse(null);
+    private Map<Scope, String> keys(String clientIp, String username) {
+        Map<Scope, String> keys = new EnumMap<>(Scope.class);
+        keys.put(Scope.IP, clientIp);
+        if (username != null) {
+            keys.put(Scope.USERNAME, normalize(username));
         }
+        return keys;
+    }
 
-        public void removeOldAttempts(LocalDateTime cutoffTime) {
-            attempts.entrySet().removeIf(entry -> entry.getKey().isBefore(cutoffTime));
-        }
+    private String normalize(String username) {
+        return username.toLowerCase().trim();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Where login failure counts live.
+ * -------------------------------------------------------------
+ * RateLimitService owns the policy (limits, which keys to check);
+ * a store only counts failures inside the sliding window.
+ *
+ *   - InMemoryRateLimitStore: per-instance, default
+ *   - PostgresRateLimitStore: shared by every instance behind the load balancer
+ *
+ * Selected with security.rate-limit.store=memory|postgres.
+ */
+public interface RateLimitStore {
+
+    enum Scope {
+        USERNAME,
+        IP
+    }
+
+    /**
+     * Record one failure against every given key (one failed login)
+     */
+    void recordFailures(Map<Scope, String> keys, long nowMillis);
+
+    int getFailures(Scope scope, String key, long nowMillis);
+
+    /**
+     * Failure counts for several keys at once; stores with a remote
+     * backend override this to answer in a single round trip
+     */
+    default Map<Scope, Integer> getFailures(Map<Scope, String> keys, long nowMillis) {
+        Map<Scope, Integer> failures = new EnumMap<>(Scope.class);
+        keys.forEach((scope, key) -> failures.put(scope, getFailures(scope, key, nowMillis)));
+        return failures;
+    }
+
+    /**
+     * Millis until the key's failure count drops below limit (0 if already below)
+     */
+    long getRetryAfterMillis(Scope scope, String key, int limit, long nowMillis);
+
+    void reset(Scope scope, String key);
+
+    /**
+     * Drop state that no longer affects any decision
+     */
+    void sweep(long nowMillis);
+
+    Map<String, Object> stats();
+}
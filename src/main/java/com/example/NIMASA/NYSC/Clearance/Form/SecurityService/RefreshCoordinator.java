@@ -0,0 +1,143 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * REFRESH COORDINATOR
+ * -------------------------------------------------------------
+ * Several open tabs refresh at the same moment with the same cookie. Only
+ * the first rotation can succeed (it revokes the old token), so the rest
+ * used to fail and send the user back to a BCrypt login.
+ *
+ *   - single-flight: concurrent refreshes for one token family wait for
+ *     the rotation already in progress and share its result
+ *   - grace window: for a few seconds after rotating, the old token
+ *     returns that same new token pair instead of failing
+ *
+ * In-process only; with several instances, tabs that land on different
+ * instances still race, but the grace window covers most of those too
+ * once the first rotation has finished.
+ */
+@Component
+public class RefreshCoordinator {
+
+    public record RefreshedTokens(String username, UserRole role, String tokenFamily,
+                                  String accessToken, String refreshToken) {
+    }
+
+    private final JwtService jwtService;
+    private final boolean graceEnabled;
+
+    // Rotations in progress, keyed by token family
+    private final Map<String, CompletableFuture<RefreshedTokens>> inFlight = new ConcurrentHashMap<>();
+
+    // Old token digest -> the pair it was rotated into
+    private final Cache<ByteBuffer, RefreshedTokens> graceCache;
+
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder graceHits = new LongAdder();
+
+    public RefreshCoordinator(JwtService jwtService,
+                              @Value("${security.refresh.grace-seconds:10}") long graceSeconds) {
+        this.jwtService = jwtService;
+        this.graceEnabled = graceSeconds > 0;
+        this.graceCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, graceSeconds)))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    /**
+     * Run rotation at most once per family at a time; everyone else gets its result
+     */
+    public RefreshedTokens refresh(String rawRefreshToken, Supplier<RefreshedTokens> rotation) {
+        ByteBuffer digest = TokenHasher.key(TokenHasher.sha256(rawRefreshToken));
+        RefreshedTokens recent = graceCache.getIfPresent(digest);
+        if (recent != null) {
+            graceHits.increment();
+            return recent;
+        }
+
+        String family;
+        try {
+            family = jwtService.verify(rawRefreshToken).family();
+        } catch (Exception e) {
+            return rotation.get(); // invalid token: let rotation reject it as before
+        }
+        if (family == null) {
+            return rotation.get();
+        }
+
+        CompletableFuture<RefreshedTokens> mine = new CompletableFuture<>();
+        CompletableFuture<RefreshedTokens> running = inFlight.putIfAbsent(family, mine);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        try {
+            // A rotation may have finished between the grace check and taking the slot
+            RefreshedTokens result = graceCache.getIfPresent(digest);
+            if (result == null) {
+                result = rotation.get();
+                if (graceEnabled) {
+                    graceCache.put(digest, result);
+                }
+            }
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(family, mine);
+        }
+    }
+
+    /**
+     * Revoked sessions must not be revived through the grace window
+     */
+    public void evictFamily(String tokenFamily) {
+        if (tokenFamily == null) return;
+        graceCache.asMap().values().removeIf(tokens -> tokenFamily.equals(tokens.tokenFamily()));
+    }
+
+    public void evictSubject(String username) {
+        if (username == null) return;
+        graceCache.asMap().values().removeIf(tokens -> username.equalsIgnoreCase(tokens.username()));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("graceHits", graceHits.sum());
+        stats.put("graceEntries", graceCache.estimatedSize());
+        return stats;
+    }
+
+    private static RefreshedTokens await(CompletableFuture<RefreshedTokens> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * REFRESH TOKEN PURGE JOB
+ * -------------------------------------------------------------
+ * Removes expired and revoked refresh tokens without one big DELETE:
+ *   - only one instance runs it (Postgres advisory lock)
+ *   - deletes in batches of batch-size rows picked by ctid, in two passes
+ *     (revoked, then expired) so each batch is a range scan on its own
+ *     index from the V6 migration; "expired OR revoked" had none
+ *   - sleeps pause-ms between batches so replication / WAL can keep up
+ *   - stops when the per-run time budget is used up; the next run continues
+ *
+ * The advisory lock is session-scoped, so the lock, the deletes and the
+ * unlock all run on one dedicated connection (autocommit, one short
+ * transaction per batch).
+ */
+@Slf4j
+@Component
+public class RefreshTokenPurgeJob {
+
+    // Arbitrary application-wide key for pg_try_advisory_lock
+    private static final long PURGE_LOCK_KEY = 0x4E5953435F525450L; // "NYSC_RTP"
+
+    // Rows already being rotated are skipped, not waited for.
+    // Partial index idx_refresh_tokens_revoked
+    private static final String DELETE_REVOKED_BATCH = """
+            DELETE FROM refresh_tokens WHERE ctid = ANY (ARRAY(
+                SELECT ctid FROM refresh_tokens
+                WHERE revoked
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED))""";
+
+    // idx_refresh_tokens_expiration
+    private static final String DELETE_EXPIRED_BATCH = """
+            DELETE FROM refresh_tokens WHERE ctid = ANY (ARRAY(
+                SELECT ctid FROM refresh_tokens
+                WHERE expiration_date < ?
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED))""";
+
+    private final DataSource dataSource;
+
+    @Value("${security.refresh-token.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${security.refresh-token.purge.pause-ms:100}")
+    private long pauseMs;
+
+    @Value("${security.refresh-token.purge.time-budget-ms:30000}")
+    private long timeBudgetMs;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong skippedNotLeader = new AtomicLong();
+    private final AtomicLong totalDeleted = new AtomicLong();
+    private volatile long lastRunDeleted;
+    private volatile long lastRunBatches;
+    private volatile long lastRunMillis;
+    private volatile boolean lastRunBudgetExhausted;
+    private volatile LocalDateTime lastRunAt;
+
+    public RefreshTokenPurgeJob(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Scheduled(initialDelayString = "${security.refresh-token.purge.initial-delay-ms:60000}",
+            fixedDelayString = "${security.refresh-token.purge.interval-ms:3600000}")
+    public void purge() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+            Boolean leader = jdbc.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class, PURGE_LOCK_KEY);
+            if (!Boolean.TRUE.equals(leader)) {
+                skippedNotLeader.incrementAndGet();
+                return; // another instance is purging
+            }
+
+            try {
+                purgeInBatches(jdbc);
+            } finally {
+                jdbc.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, PURGE_LOCK_KEY);
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.error("Failed to purge refresh tokens: {}", e.getMessage());
+        }
+    }
+
+    private void purgeInBatches(JdbcTemplate jdbc) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Progress progress = new Progress();
+
+        boolean budgetExhausted = !deleteInBatches(jdbc, deadline, progress, DELETE_REVOKED_BATCH, batchSize)
+                || !deleteInBatches(jdbc, deadline, progress, DELETE_EXPIRED_BATCH, now, batchSize);
+
+        runs.incrementAndGet();
+        totalDeleted.addAndGet(progress.deleted);
+        lastRunDeleted = progress.deleted;
+        lastRunBatches = progress.batches;
+        lastRunMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastRunBudgetExhausted = budgetExhausted;
+        lastRunAt = LocalDateTime.now();
+        log.info("Purged {} refresh tokens in {} batches ({} ms)", progress.deleted, progress.batches, lastRunMillis);
+    }
+
+    /**
+     * Run one delete statement in batches until it runs dry.
+     * Returns false when the time budget ran out (or the thread was interrupted) first.
+     */
+    private boolean deleteInBatches(JdbcTemplate jdbc, long deadline, Progress progress, String sql, Object... args) {
+        while (true) {
+            int batchDeleted = jdbc.update(sql, args);
+            progress.deleted += batchDeleted;
+            progress.batches++;
+
+            if (batchDeleted < batchSize) {
+                return true; // nothing (or only locked rows) left
+            }
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMs) >= deadline) {
+                return false; // the next run picks up the rest
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("runs", runs.get());
+        stats.put("skippedNotLeader", skippedNotLeader.get());
+        stats.put("totalDeleted", totalDeleted.get());
+        stats.put("lastRunDeleted", lastRunDeleted);
+        stats.put("lastRunBatches", lastRunBatches);
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastRunBudgetExhausted", lastRunBudgetExhausted);
+        stats.put("lastRunAt", lastRunAt == null ? null : lastRunAt.toString());
+        return stats;
+    }
+
+    private static final class Progress {
+        long deleted;
+        long batches;
+    }
+}
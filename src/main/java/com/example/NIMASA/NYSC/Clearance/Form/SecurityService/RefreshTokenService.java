@@ -211,167 +211,127 @@
 package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
 
 import com.example.NIMASA.NYSC.Clearance.Form.model.RefreshToken;
-import com.example.NIMASA.NYSC.Clearance.Form.repository.RefreshTokenRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
-import java.util.Base64;
-import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    // JPA (synchronous) or write-behind, see RefreshTokenStore
+    private final RefreshTokenStore refreshTokenStore;
     private final JwtService jwtService;
+    private final AccessTokenCache accessTokenCache;
+    private final RefreshCoordinator refreshCoordinator;
+    private final AccessTokenDenyList accessTokenDenyList;
 
     /**
-     * Hash string with SHA-256 to reduce size before BCrypt
-     * This fixes the "password cannot be more than 72 bytes" error
+     * Issue a refresh JWT and store its row; the row keeps only the 32-byte
+     * SHA-256 digest of the JWT (bytea), never the token itself
      */
-    @Transactional
     public String createRefreshToken(String username, String tokenFamily, String deviceInfo) {
         String jwtToken = jwtService.generateRefreshToken(username, tokenFamily);
-        String hashedToken = hashWithSHA256(jwtToken);
+        refreshTokenStore.save(newRefreshToken(jwtToken, username, tokenFamily, deviceInfo));
+        return jwtToken;
+    }
 
+    private RefreshToken newRefreshToken(String jwtToken, String username, String tokenFamily, String deviceInfo) {
         RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setToken(hashedToken);
+        refreshToken.setToken(TokenHasher.sha256(jwtToken)); // 32-byte SHA-256 digest
         refreshToken.setEmployeeName(username);  // This column stores username now
         refreshToken.setTokenFamily(tokenFamily);
         refreshToken.setDeviceInfo(deviceInfo);
         refreshToken.setExpirationDate(LocalDateTime.now().plusSeconds(jwtService.getRefreshTokenExpirationMs() / 1000));
         refreshToken.setCreatedAt(LocalDateTime.now());
-
-        refreshTokenRepository.save(refreshToken);
-
-        return jwtToken;
+        return refreshToken;
     }
 
     /**
-     * Hash with SHA-256 only
+     * Result of a successful rotation: who it belongs to and the new refresh JWT
      */
-    private String hashWithSHA256(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to hash token", e);
-        }
+    public record RotatedRefreshToken(String username, String tokenFamily, String jwt) {
     }
 
     /**
-     * OPTIMIZED: Fast token validation - NO BCRYPT
+     * Validate a refresh token: one JWT parse + one indexed lookup by SHA-256 digest.
+     * Cost stays flat no matter how many sessions the user has.
      */
     public Optional<String> validateRefreshToken(String rawToken) {
-        try {
-            if (!jwtService.validateRefreshTokenStructure(rawToken)) {
-                System.out.println("JWT structure validation failed");
-                return Optional.empty();
-            }
-
-            String username = jwtService.extractUsername(rawToken);
-            String tokenFamily = jwtService.extractTokenFamily(rawToken);
-
-            System.out.println(" Validating token for username: " + username + ", family: " + tokenFamily);
-
-            List<RefreshToken> candidateTokens = refreshTokenRepository
-                    .findByEmployeeNameAndTokenFamilyAndRevokedFalse(username, tokenFamily);
-
-            System.out.println( candidateTokens.size() + " candidate tokens");
-
-            String sha256Hash = hashWithSHA256(rawToken);
-
-            for (RefreshToken token : candidateTokens) {
-                System.out.println(" Checking token - Expired: " + token.isExpired() + ", Match: " + sha256Hash.equals(token.getToken()));
-                if (!token.isExpired() && sha256Hash.equals(token.getToken())) {
-                    System.out.println(" Token validated successfully!");
-                    return Optional.of(token.getEmployeeName());
-                }
-            }
+        return findActiveToken(rawToken)
+                .filter(token -> !token.isExpired())
+                .map(RefreshToken::getEmployeeName);
+    }
 
-            System.out.println("No matching token found");
+    /**
+     * Verify the JWT once, then load its row through the unique index on the digest.
+     * The row must belong to the JWT's subject.
+     */
+    private Optional<RefreshToken> findActiveToken(String rawToken) {
+        VerifiedClaims claims;
+        try {
+            claims = jwtService.verify(rawToken);
         } catch (Exception e) {
-            System.out.println(" Validation error: " + e.getMessage());
-            e.printStackTrace();
+            return Optional.empty(); // bad signature, malformed or expired
+        }
+        if (!claims.isRefreshToken()) {
             return Optional.empty();
         }
 
-        return Optional.empty();
+        return findTokenByRawValueOptimized(rawToken)
+                .filter(token -> claims.subject().equals(token.getEmployeeName()));
     }
 
     /**
-     * OPTIMIZED: Fast token lookup - NO BCRYPT
+     * Lookup by digest only, no JWT parse: the digest of a token we issued
+     * is enough to identify it (also works once the JWT itself has expired)
      */
     private Optional<RefreshToken> findTokenByRawValueOptimized(String rawToken) {
-        try {
-            String username = jwtService.extractUsername(rawToken);
-            String tokenFamily = jwtService.extractTokenFamily(rawToken);
-
-            List<RefreshToken> candidateTokens = refreshTokenRepository
-                    .findByEmployeeNameAndTokenFamilyAndRevokedFalse(username, tokenFamily);
-
-            // Hash with SHA-256
-            String sha256Hash = hashWithSHA256(rawToken);
-
-            // Direct comparison (no BCrypt)
-            for (RefreshToken token : candidateTokens) {
-                if (sha256Hash.equals(token.getToken())) {
-                    return Optional.of(token);
-                }
-            }
-        } catch (Exception e) {
-            return Optional.empty();
-        }
-
-        return Optional.empty();
+        return refreshTokenStore.findActiveByDigest(TokenHasher.sha256(rawToken));
     }
 
     /**
-     * OPTIMIZED: Rotate refresh token with fast lookup
+     * Validate and rotate in one go: revoke the presented token and issue a
+     * new one in the same family. An expired row revokes the whole family.
      */
-    @Transactional
-    public String rotateRefreshToken(String oldRawToken, String deviceInfo) {
-        // Find and validate the old token (now optimized)
-        Optional<RefreshToken> oldTokenOpt = findTokenByRawValueOptimized(oldRawToken);
+    public RotatedRefreshToken rotateRefreshToken(String oldRawToken, String deviceInfo) {
+        Optional<RefreshToken> oldTokenOpt = findActiveToken(oldRawToken);
 
-        if (oldTokenOpt.isEmpty() || oldTokenOpt.get().isRevoked() || oldTokenOpt.get().isExpired()) {
+        if (oldTokenOpt.isEmpty() || oldTokenOpt.get().isExpired()) {
             // If token is invalid, revoke entire family (security measure)
-            if (oldTokenOpt.isPresent()) {
-                revokeTokenFamily(oldTokenOpt.get().getTokenFamily());
-            }
+            oldTokenOpt.ifPresent(token -> revokeTokenFamily(token.getTokenFamily(), token.getEmployeeName()));
             throw new RuntimeException("Invalid refresh token");
         }
 
         RefreshToken oldToken = oldTokenOpt.get();
 
-        // Revoke the old token
-        oldToken.setRevoked(true);
-        refreshTokenRepository.save(oldToken);
+        // Revoke the old token and store the new one in the same family, atomically
+        String newJwt = jwtService.generateRefreshToken(oldToken.getEmployeeName(), oldToken.getTokenFamily());
+        RefreshToken newToken = newRefreshToken(newJwt, oldToken.getEmployeeName(), oldToken.getTokenFamily(), deviceInfo);
+        if (!refreshTokenStore.rotate(oldToken, newToken)) {
+            throw new RuntimeException("Invalid refresh token"); // lost the race to a concurrent rotation
+        }
 
-        // Create new token with same family - returns JWT string
-        return createRefreshToken(oldToken.getEmployeeName(), oldToken.getTokenFamily(), deviceInfo);
+        return new RotatedRefreshToken(oldToken.getEmployeeName(), oldToken.getTokenFamily(), newJwt);
     }
 
     /**
      * OPTIMIZED: Fast logout for single session
      */
-    @Transactional
     public int revokeSingleSession(String refreshToken) {
         try {
-            // Extract token family from JWT (fast)
-            String tokenFamily = jwtService.extractTokenFamily(refreshToken);
+            // Extract token family and owner from JWT (fast)
+            VerifiedClaims claims = jwtService.verify(refreshToken);
+            String tokenFamily = claims.family();
 
             // Revoke just this token family (much faster than checking all tokens)
-            int revokedCount = refreshTokenRepository.revokeTokenFamily(tokenFamily);
+            int revokedCount = refreshTokenStore.revokeFamily(tokenFamily);
+            accessTokenCache.evictFamily(tokenFamily);
+            refreshCoordinator.evictFamily(tokenFamily);
+            accessTokenDenyList.denyFamily(tokenFamily, claims.subject());
             return revokedCount > 0 ? 1 : 0;
 
         } catch (Exception e) {
@@ -383,11 +343,13 @@ public class RefreshTokenService {
     /**
      * Fallback method for single session logout (rare case)
      */
-    @Transactional
     private int revokeSingleSessionFallback(String refreshToken) {
         Optional<RefreshToken> tokenOpt = findTokenByRawValueOptimized(refreshToken);
         if (tokenOpt.isPresent()) {
-            refreshTokenRepository.revokeTokenFamily(tokenOpt.get().getTokenFamily());
+            refreshTokenStore.revokeFamily(tokenOpt.get().getTokenFamily());
+            accessTokenCache.evictFamily(tokenOpt.get().getTokenFamily());
+            refreshCoordinator.evictFamily(tokenOpt.get().getTokenFamily());
+            accessTokenDenyList.denyFamily(tokenOpt.get().getTokenFamily(), tokenOpt.get().getEmployeeName());
             return 1;
         }
         return 0;
@@ -396,39 +358,28 @@ public class RefreshTokenService {
     /**
      * Revoke all tokens for a user (logout all devices) - already optimized
      */
-    @Transactional
     public int revokeAllTokensForEmployee(String employeeName) {
-        List<RefreshToken> activeTokens = refreshTokenRepository.findByEmployeeNameAndRevokedFalse(employeeName);
-        refreshTokenRepository.revokeAllTokensForEmployee(employeeName);
-        return activeTokens.size();
+        int revoked = refreshTokenStore.revokeAllForEmployee(employeeName);
+        accessTokenCache.evictSubject(employeeName);
+        refreshCoordinator.evictSubject(employeeName);
+        accessTokenDenyList.denySubject(employeeName);
+        return revoked;
     }
 
     /**
      * Revoke a specific token family (when compromise detected) - already optimized
      */
-    @Transactional
-    public void revokeTokenFamily(String tokenFamily) {
-        refreshTokenRepository.revokeTokenFamily(tokenFamily);
+    public void revokeTokenFamily(String tokenFamily, String employeeName) {
+        refreshTokenStore.revokeFamily(tokenFamily);
+        accessTokenCache.evictFamily(tokenFamily);
+        refreshCoordinator.evictFamily(tokenFamily);
+        accessTokenDenyList.denyFamily(tokenFamily, employeeName);
     }
 
     /**
      * Get active session count for a user - already optimized
      */
     public long getActiveSessionCount(String employeeName) {
-        return refreshTokenRepository.countActiveSessionsForEmployee(employeeName, LocalDateTime.now());
-    }
-
-    /**
-     * Clean up expired tokens - runs every hour - already optimized
-     */
-    @Scheduled(fixedRate = 3600000) // 1 hour
-    @Transactional
-    public void cleanupExpiredTokens() {
-        try {
-            refreshTokenRepository.deleteExpiredAndRevokedTokens(LocalDateTime.now());
-            System.out.println("Cleaned up expired refresh tokens at: " + LocalDateTime.now());
-        } catch (Exception e) {
-            System.err.println("Failed to clean up expired tokens: " + e.getMessage());
-        }
+        return refreshTokenStore.countActiveSessions(employeeName, LocalDateTime.now());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.model.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Where refresh tokens live.
+ * -------------------------------------------------------------
+ * RefreshTokenService owns the rules (JWT checks, reuse handling, cache
+ * and deny-list updates); a store only persists rows.
+ *
+ *   - JpaRefreshTokenStore: every write goes to Postgres synchronously (default)
+ *   - WriteBehindRefreshTokenStore: memory first, batched to Postgres; single node only
+ *
+ * Selected with security.refresh-token.store=jpa|memory.
+ */
+public interface RefreshTokenStore {
+
+    void save(RefreshToken token);
+
+    /**
+     * Non-revoked token with this 32-byte SHA-256 digest (may be expired)
+     */
+    Optional<RefreshToken> findActiveByDigest(byte[] digest);
+
+    /**
+     * Atomically revoke current and store replacement in the same family.
+     * Returns false (and stores nothing) if current was already revoked.
+     */
+    boolean rotate(RefreshToken current, RefreshToken replacement);
+
+    /**
+     * Returns the number of tokens revoked
+     */
+    int revokeFamily(String tokenFamily);
+
+    /**
+     * Returns the number of tokens revoked
+     */
+    int revokeAllForEmployee(String employeeName);
+
+    long countActiveSessions(String employeeName, LocalDateTime now);
+
+    Map<String, Object> stats();
+}
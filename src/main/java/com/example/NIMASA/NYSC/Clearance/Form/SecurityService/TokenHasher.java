@@ -0,0 +1,85 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * SHA-256 of tokens (refresh JWTs, access JWTs) as a 32-byte digest.
+ * -------------------------------------------------------------
+ *   - MessageDigest instances and scratch buffers are reused from a small
+ *     pool; a borrowed hasher is used by one thread only. (A ThreadLocal
+ *     would be re-created for every virtual thread.)
+ *   - JWTs are ASCII, so chars are copied straight into the scratch buffer
+ *     instead of going through String.getBytes
+ *   - the only allocation per call is the 32-byte result
+ */
+public final class TokenHasher {
+
+    public static final int DIGEST_LENGTH = 32;
+
+    private static final int POOL_SIZE = 64;
+    private static final ArrayBlockingQueue<Hasher> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private TokenHasher() {
+    }
+
+    public static byte[] sha256(String token) {
+        Hasher hasher = POOL.poll();
+        if (hasher == null) {
+            hasher = new Hasher();
+        }
+        try {
+            return hasher.digest(token);
+        } finally {
+            POOL.offer(hasher); // dropped if the pool is already full
+        }
+    }
+
+    /**
+     * Constant-time comparison of two digests
+     */
+    public static boolean matches(byte[] a, byte[] b) {
+        return MessageDigest.isEqual(a, b);
+    }
+
+    /**
+     * Map/cache key for a digest (ByteBuffer compares by content)
+     */
+    public static ByteBuffer key(byte[] digest) {
+        return ByteBuffer.wrap(digest);
+    }
+
+    private static final class Hasher {
+        private final MessageDigest digest;
+        private byte[] scratch = new byte[1024];
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        byte[] digest(String token) {
+            int length = token.length();
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = token.charAt(i);
+                if (c > 0x7F) {
+                    // Not a JWT we issued, but hash it the standard (UTF-8) way anyway
+                    digest.reset();
+                    return digest.digest(token.getBytes(StandardCharsets.UTF_8));
+                }
+                scratch[i] = (byte) c;
+            }
+            digest.update(scratch, 0, length);
+            return digest.digest(); // also resets for the next caller
+        }
+    }
+}
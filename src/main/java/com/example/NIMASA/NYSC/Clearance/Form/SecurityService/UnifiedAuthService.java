@@ -3,29 +3,27 @@ package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
 import com.example.NIMASA.NYSC.Clearance.Form.DTOs.*;
 import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
 import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.config.ClientIpResolver;
 import com.example.NIMASA.NYSC.Clearance.Form.model.CorpsMember;
 import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
 import com.example.NIMASA.NYSC.Clearance.Form.model.RefreshToken;
 import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceRepository;
 import com.example.NIMASA.NYSC.Clearance.Form.repository.CorpsMemberRepository;
 import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.service.AdminStatsService;
 
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * UNIFIED AUTH SERVICE
@@ -36,10 +34,11 @@ import java.util.concurrent.ConcurrentHashMap;
  *   - Corps member login (simpler, no password)
  *   - Token rotation + cookie management
  *   - Employee management (add, deactivate, password change)
- *   - Quick in-memory cache to speed up repeated logins
+ *   - Bounded employee cache to speed up repeated logins
  *
  * Think of this as the "gatekeeper" for NIMASA’s Clearance System.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UnifiedAuthService {
@@ -52,37 +51,15 @@ public class UnifiedAuthService {
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final RateLimitService rateLimitService;
-
-    // Cookie rules (from application.properties / yml)
-    @Value("${security.cookie.secure:true}")
-    private boolean secureCookies;
-
-    @Value("${security.cookie.same-site:None}")
-    private String sameSite;
-
-    // ========== CACHING ==========
-    // We keep a 5-minute cache of recently authenticated employees
-    // This avoids hitting the DB on every single login attempt.
-    private final Map<String, CachedEmployeeData> quickCache = new ConcurrentHashMap<>();
-    private static final long CACHE_DURATION_MS = 300000; // 5 minutes
-
-    /**
-     * Tiny class to wrap cached employee data.
-     * Stores the employee + when it was cached.
-     */
-    private static class CachedEmployeeData {
-        final Employee employee;
-        final long timestamp;
-
-        CachedEmployeeData(Employee employee) {
-            this.employee = employee;
-            this.timestamp = System.currentTimeMillis();
-        }
-
-        boolean isExpired() {
-            return (System.currentTimeMillis() - timestamp) > CACHE_DURATION_MS;
-        }
-    }
+    private final CustomUserDetailsService userDetailsService;
+    private final AuthzVersionRegistry authzVersionRegistry;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordHashPolicy passwordHashPolicy;
+    // Recently authenticated employees, so repeated logins skip the DB lookup
+    private final EmployeeCache employeeCache;
+    private final RefreshCoordinator refreshCoordinator;
+    private final AuthCookiePolicy authCookiePolicy;
+    private final AdminStatsService adminStatsService;
 
     // ============================================================
     // AUTHENTICATION FLOW
@@ -98,39 +75,38 @@ public class UnifiedAuthService {
                                         HttpServletRequest httpRequest,
                                         HttpServletResponse response) {
         String clientIp = getClientIp(httpRequest);
+        String username = request.getName();
 
-        // Protect system: stop too many wrong attempts
-        if (!rateLimitService.isLoginAllowed(clientIp)) {
+        // Protect system: stop too many wrong attempts per IP and per username, before any BCrypt work
+        if (!rateLimitService.isLoginAllowed(clientIp, username)) {
             throw new RuntimeException("Too many login attempts. Please try again later.");
         }
 
         try {
             // Step 1: try cache
-            String cacheKey = request.getName().toLowerCase().trim();
-            CachedEmployeeData cached = quickCache.get(cacheKey);
+            Employee cached = employeeCache.get(username);
 
-            if (cached != null && !cached.isExpired()) {
-                return authenticateFromCache(cached.employee, request, httpRequest, response, clientIp);
+            if (cached != null) {
+                return authenticateFromCache(cached, request, httpRequest, response, clientIp);
             }
 
-            // Step 2: query DB for employee
-            // NEW employee lookup (by username)
-            CompletableFuture<Optional<Employee>> employeeQuery =
-                    CompletableFuture.supplyAsync(() -> employeeRepository.findByUsernameIgnoreCaseAndActive(request.getName(), true));
-
-            Optional<Employee> employeeOpt = employeeQuery.join();
+            // Step 2: query DB for employee (by username)
+            // Plain blocking call: on a virtual thread the JDBC wait just unmounts it
+            Optional<Employee> employeeOpt = employeeRepository.findByUsernameIgnoreCaseAndActive(request.getName(), true);
 
             if (employeeOpt.isPresent()) {
                 Employee employee = employeeOpt.get();
-                quickCache.put(cacheKey, new CachedEmployeeData(employee));
+                employeeCache.put(employee);
                 return authenticateFromCache(employee, request, httpRequest, response, clientIp);
             } else {
                 // Step 3: fallback → corps member login
                 return handleCorpsMember(request);
             }
 
+        } catch (HashingCapacityExceededException e) {
+            throw e; // overload, not a wrong password
         } catch (RuntimeException e) {
-            rateLimitService.recordFailedLogin(clientIp);
+            rateLimitService.recordFailedLogin(clientIp, username);
             throw e;
         }
     }
@@ -148,9 +124,8 @@ public class UnifiedAuthService {
             return createPasswordRequiredResponse(employee);
         }
 
-        // Check password
-        if (!encoder.matches(request.getPassword(), employee.getPassword())) {
-            rateLimitService.recordFailedLogin(clientIp);
+        // Check password (BCrypt runs on the bounded hashing pool, not the request thread)
+        if (!passwordHashingExecutor.matches(request.getPassword(), employee.getPassword())) {
             throw new RuntimeException("Invalid password. Please provide the correct password.");
         }
 
@@ -160,12 +135,35 @@ public class UnifiedAuthService {
         }
 
         // All good → reset limiter + issue tokens
-        System.out.println("Password length: " + request.getPassword().length());
-
-        rateLimitService.recordSuccessfulLogin(clientIp);
+        rateLimitService.recordSuccessfulLogin(clientIp, request.getName());
+        rehashIfOutOfPolicy(employee, request.getPassword());
         return createEmployeeSuccessResponse(employee, httpRequest, response);
     }
 
+    /**
+     * We only see the raw password at login, so that is when a hash made
+     * with an old cost gets upgraded. Runs in the background on the hashing
+     * pool; if the pool is busy we simply try again on a later login.
+     */
+    private void rehashIfOutOfPolicy(Employee employee, String rawPassword) {
+        String currentHash = employee.getPassword();
+        if (!passwordHashPolicy.isOutOfPolicy(currentHash)) {
+            return;
+        }
+
+        passwordHashingExecutor.tryExecute(() -> {
+            try {
+                String newHash = encoder.encode(rawPassword);
+                // Only replaces the hash we verified; lastPasswordChange is untouched
+                if (employeeRepository.upgradePasswordHash(employee.getId(), currentHash, newHash) == 1) {
+                    invalidateEmployeeCaches(employee.getUsername());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Password rehash failed for {}: {}", employee.getUsername(), e.getMessage());
+            }
+        });
+    }
+
     /**
      * Corps members have no password. They are auto-registered on first login.
      */
@@ -186,6 +184,7 @@ public class UnifiedAuthService {
             newCorpsMember.setCreatedAt(LocalDate.now());
 
             CorpsMember saved = corpsMemberRepository.save(newCorpsMember);
+            adminStatsService.invalidate();
             return createCorpsMemberResponse(saved, true);
         }
     }
@@ -276,7 +275,7 @@ public class UnifiedAuthService {
                     sessionsTerminated = refreshTokenService.revokeSingleSession(refreshToken);
                 }
             } catch (Exception e) {
-                System.err.println("Error during logout: " + e.getMessage());
+                log.warn("Error during logout: {}", e.getMessage());
             }
         }
 
@@ -291,44 +290,50 @@ public class UnifiedAuthService {
     public RefreshTokenResponseDTO refreshAccessToken(HttpServletRequest request, HttpServletResponse response) {
         String refreshToken = extractRefreshTokenFromCookie(request);
 
-        System.out.println("🔄 Refresh token request received");
-
         if (refreshToken == null) {
-            System.out.println("No refresh token found in cookie");
+            log.debug("Refresh rejected: no refresh token cookie");
             throw new RuntimeException("Refresh token not found");
         }
 
-        System.out.println("✅ Refresh token found in cookie");
+        // Concurrent refreshes (several tabs) share one rotation; a just-rotated
+        // token gets the same new pair for a short grace window
+        RefreshCoordinator.RefreshedTokens tokens = refreshCoordinator.refresh(
+                refreshToken, () -> rotateAndIssue(refreshToken, extractDeviceInfo(request)));
 
-        Optional<String> usernameOpt = refreshTokenService.validateRefreshToken(refreshToken);
+        setAccessTokenCookie(response, tokens.accessToken());
+        setRefreshTokenCookie(response, tokens.refreshToken());
 
-        if (usernameOpt.isEmpty()) {
-            System.out.println(" Refresh token validation failed");
-            throw new RuntimeException("Invalid refresh token");
+        log.debug("Tokens refreshed for {}", tokens.username());
+        return new RefreshTokenResponseDTO(
+                "Token refreshed successfully",
+                jwtService.getAccessTokenExpirationMs(),
+                tokens.username(),
+                tokens.role()
+        );
+    }
+
+    /**
+     * Rotate the refresh token (one JWT parse + one indexed lookup) and issue a matching access token
+     */
+    private RefreshCoordinator.RefreshedTokens rotateAndIssue(String refreshToken, String deviceInfo) {
+        RefreshTokenService.RotatedRefreshToken rotated;
+        try {
+            rotated = refreshTokenService.rotateRefreshToken(refreshToken, deviceInfo);
+        } catch (RuntimeException e) {
+            log.debug("Refresh token validation failed: {}", e.getMessage());
+            throw e;
         }
 
         // 👇 This is now username (e.g., "Initial.Admin")
-        String username = usernameOpt.get();
-        System.out.println(" Token validated for username: " + username);
+        String username = rotated.username();
 
         // 👇 Find by USERNAME, not name
         Employee employee = employeeRepository.findByUsernameIgnoreCaseAndActive(username, true)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        String deviceInfo = extractDeviceInfo(request);
-        String newRefreshTokenJwt = refreshTokenService.rotateRefreshToken(refreshToken, deviceInfo);
-        String newAccessToken = jwtService.generateAccessToken(username);
-
-        setAccessTokenCookie(response, newAccessToken);
-        setRefreshTokenCookie(response, newRefreshTokenJwt);
-
-        System.out.println(" Tokens refreshed successfully");
-        return new RefreshTokenResponseDTO(
-                "Token refreshed successfully",
-                jwtService.getAccessTokenExpirationMs(),
-                username,
-                employee.getRole()
-        );
+        String newAccessToken = jwtService.generateAccessToken(employee, rotated.tokenFamily());
+        return new RefreshCoordinator.RefreshedTokens(
+                username, employee.getRole(), rotated.tokenFamily(), newAccessToken, rotated.jwt());
     }
 
     // ============================================================
@@ -357,6 +362,7 @@ public class UnifiedAuthService {
 
         // Only delete corps member (leave their forms intact)
         corpsMemberRepository.deleteById(corpsId);
+        adminStatsService.invalidate();
 
         return String.format("Corps member %s has been removed from the system", corpsMember.getName());
     }
@@ -417,7 +423,9 @@ public class UnifiedAuthService {
         employee.setCreatedAt(LocalDate.now());
         employee.setLastPasswordChange(LocalDate.now());
 
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        invalidateEmployeeCaches(saved.getUsername());
+        return saved;
     }
     private String generateUsername(String fullName) {
         String[] parts = fullName.trim().toLowerCase().split(" ");
@@ -432,20 +440,31 @@ public class UnifiedAuthService {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(()-> new RuntimeException("Employee not found"));
 
+        boolean authzChanged = false;
+
         if (dto.getDepartment() != null && !dto.getDepartment().isBlank()){
+            authzChanged |= !dto.getDepartment().equals(employee.getDepartment());
             employee.setDepartment(dto.getDepartment());
         }
 
         if(dto.getRole() != null){
+            authzChanged |= dto.getRole() != employee.getRole();
             employee.setRole((dto).getRole());
         }
 
+        // Invalidate role/department claims in already-issued access tokens
+        if (authzChanged) {
+            employee.setAuthzVersion(employee.getAuthzVersion() + 1);
+        }
+
         if(dto.getPassword()!= null && !dto.getPassword().isBlank()){
             employee.setPassword(encoder.encode(dto.getPassword()));
             employee.setLastPasswordChange(LocalDate.now());
         }
 
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        invalidateEmployeeCaches(saved.getUsername());
+        return saved;
     }
 
 
@@ -465,8 +484,9 @@ public class UnifiedAuthService {
 
         employeeRepository.deleteById(employeeId);
 
-        quickCache.remove(employee.getName().toLowerCase().trim());
-        refreshTokenService.revokeAllTokensForEmployee(employee.getName());
+        invalidateEmployeeCaches(employee.getUsername());
+        // Refresh tokens are stored under the username, not the display name
+        refreshTokenService.revokeAllTokensForEmployee(employee.getUsername());
 
         return String.format("Employee member %s has been removed from the system", employee.getName());
     }
@@ -488,7 +508,21 @@ public class UnifiedAuthService {
         admin.setCreatedAt(LocalDate.now());
         admin.setLastPasswordChange(LocalDate.now());
 
-        return employeeRepository.save(admin);
+        Employee saved = employeeRepository.save(admin);
+        invalidateEmployeeCaches(saved.getUsername());
+        return saved;
+    }
+
+    /**
+     * Every Employee write goes through here so no cache keeps serving the
+     * old row: login employee cache, JWT filter principal cache, the
+     * authorization version cache and the admin dashboard counts.
+     */
+    private void invalidateEmployeeCaches(String username) {
+        employeeCache.invalidate(username);
+        userDetailsService.evictPrincipal(username);
+        authzVersionRegistry.invalidate(username);
+        adminStatsService.invalidate();
     }
 
 
@@ -505,47 +539,15 @@ public class UnifiedAuthService {
     // ============================================================
 
     private void setAccessTokenCookie(HttpServletResponse response, String accessToken) {
-        boolean isProduction = !isLocalhost();
-        String sameSite = isProduction ? "None" : "Lax";
-        String secure = isProduction ? "; Secure" : "";
-
-        response.addHeader("Set-Cookie", String.format(
-                "accessToken=%s; Path=/; HttpOnly; SameSite=%s%s; Max-Age=%d",
-                accessToken, sameSite, secure, (int) (jwtService.getAccessTokenExpirationMs() / 1000)
-        ));
+        authCookiePolicy.setAccessToken(response, accessToken);
     }
 
     private void setRefreshTokenCookie(HttpServletResponse response, String refreshToken) {
-        boolean isProduction = !isLocalhost();
-        String sameSite = isProduction ? "None" : "Lax";
-        String secure = isProduction ? "; Secure" : "";
-
-        response.addHeader("Set-Cookie", String.format(
-                "refreshToken=%s; Path=/; HttpOnly; SameSite=%s%s; Max-Age=%d",
-                refreshToken, sameSite, secure, (int) (jwtService.getRefreshTokenExpirationMs() / 1000)
-        ));
-    }
-
-    private boolean isLocalhost() {
-        String env = System.getenv("ENVIRONMENT");
-        return env != null && env.equalsIgnoreCase("development");
+        authCookiePolicy.setRefreshToken(response, refreshToken);
     }
 
     private void clearAuthCookies(HttpServletResponse response) {
-        Cookie accessCookie = new Cookie("accessToken", "");
-        accessCookie.setHttpOnly(true);
-        accessCookie.setSecure(secureCookies);
-        accessCookie.setPath("/api");
-        accessCookie.setMaxAge(0);
-
-        Cookie refreshCookie = new Cookie("refreshToken", "");
-        refreshCookie.setHttpOnly(true);
-        refreshCookie.setSecure(secureCookies);
-        refreshCookie.setPath("/api/unified-auth");
-        refreshCookie.setMaxAge(0);
-
-        response.addCookie(accessCookie);
-        response.addCookie(refreshCookie);
+        authCookiePolicy.clear(response);
     }
 
 //    private String generateTokenForCookie(RefreshToken refreshToken) {
@@ -555,23 +557,11 @@ public class UnifiedAuthService {
 //    }
 
     private String extractAccessTokenFromCookie(HttpServletRequest request) {
-        if (request.getCookies() == null) return null;
-        for (Cookie cookie : request.getCookies()) {
-            if ("accessToken".equals(cookie.getName())) {
-                return cookie.getValue();
-            }
-        }
-        return null;
+        return authCookiePolicy.readAccessToken(request);
     }
 
     private String extractRefreshTokenFromCookie(HttpServletRequest request) {
-        if (request.getCookies() == null) return null;
-        for (Cookie cookie : request.getCookies()) {
-            if ("refreshToken".equals(cookie.getName())) {
-                return cookie.getValue();
-            }
-        }
-        return null;
+        return authCookiePolicy.readRefreshToken(request);
     }
 
     private String extractDeviceInfo(HttpServletRequest request) {
@@ -581,11 +571,8 @@ public class UnifiedAuthService {
     }
 
     private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
+        // Resolved once per request (trusted-proxy aware) by ClientIpResolver
+        return ClientIpResolver.clientIp(request);
     }
 
     // ============================================================
@@ -599,7 +586,7 @@ public class UnifiedAuthService {
         String deviceInfo = extractDeviceInfo(request);
 
         // 👇 USE USERNAME (not name) for tokens
-        String accessToken = jwtService.generateAccessToken(employee.getUsername());
+        String accessToken = jwtService.generateAccessToken(employee, tokenFamily);
         String refreshTokenJwt = refreshTokenService.createRefreshToken(employee.getUsername(), tokenFamily, deviceInfo);
 
         setAccessTokenCookie(response, accessToken);
@@ -0,0 +1,401 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.model.RefreshToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * WRITE-BEHIND REFRESH TOKEN STORE
+ * -------------------------------------------------------------
+ * Memory-first store for single-node deployments: lookups and rotations
+ * touch only a concurrent map (one current token per family), and the
+ * changes are written to refresh_tokens in batches, each batch in one
+ * transaction, every flush-interval-ms.
+ *
+ * Durability trade-off:
+ *   - logins and rotations from the last flush interval can be lost on a
+ *     crash; affected users simply have to log in again
+ *   - revocations (logout, logout-all, reuse detection) are written
+ *     synchronously and a failure reaches the caller, so a crash never
+ *     brings a logged-out session back; queued inserts of the revoked
+ *     families are dropped, as they would only write dead rows
+ *
+ * Queued writes (inserts and per-token revokes) are retried up to
+ * max-attempts times per batch. After that the batch is retried one write
+ * per transaction and the writes that still fail are dropped, logged and
+ * counted in stats(), so one bad row cannot block the queue. Losing one of
+ * these writes is the same as losing it in a crash: the replay rule below
+ * covers it, at worst the user logs in again.
+ *
+ * Crash-safe replay rule (applied when warming from the database at
+ * startup): per token family only the NEWEST non-revoked row is active;
+ * older non-revoked rows are rotations whose revoke was lost and are
+ * revoked on the spot. A rotation queues the insert before the revoke, so
+ * any prefix of the queue that reached the database replays correctly.
+ *
+ * Not for multi-instance deployments: other nodes would not see tokens
+ * issued here until they restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "security.refresh-token.store", havingValue = "memory")
+public class WriteBehindRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String INSERT = """
+            INSERT INTO refresh_tokens
+                (id, token, employee_name, token_family, device_info, expiration_date, created_at, revoked)
+            VALUES (?, ?, ?, ?, ?, ?, ?, false)""";
+    private static final String REVOKE_TOKEN =
+            "UPDATE refresh_tokens SET revoked = true WHERE id = ?";
+    private static final String REVOKE_FAMILY =
+            "UPDATE refresh_tokens SET revoked = true WHERE token_family = ? AND revoked = false";
+    private static final String REVOKE_EMPLOYEE =
+            "UPDATE refresh_tokens SET revoked = true WHERE employee_name = ? AND revoked = false";
+    private static final String LOAD_ACTIVE = """
+            SELECT id, token, employee_name, token_family, device_info, expiration_date, created_at
+            FROM refresh_tokens
+            WHERE revoked = false AND expiration_date > ?
+            ORDER BY created_at""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${security.refresh-token.write-behind.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${security.refresh-token.write-behind.max-attempts:5}")
+    private int maxAttempts;
+
+    // Token family -> its current (only non-revoked) token
+    private final Map<String, RefreshToken> activeByFamily = new ConcurrentHashMap<>();
+    // SHA-256 digest -> token family
+    private final Map<ByteBuffer, String> familyByDigest = new ConcurrentHashMap<>();
+
+    private final Deque<PendingWrite> pending = new ConcurrentLinkedDeque<>();
+
+    private final AtomicLong flushedWrites = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong droppedWrites = new AtomicLong();
+    private volatile long lastFlushMillis;
+    // Serialises batch writes with revocations. A ReentrantLock, not synchronized:
+    // both hold it across JDBC calls, which would pin a virtual thread's carrier.
+    // Fair, so a waiting revocation goes before the flush's next batch.
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+    // Consecutive failures of the batch at the head of the queue; guarded by writeLock
+    private int headAttempts;
+
+    public WriteBehindRefreshTokenStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Warm the map from the database, applying the replay rule
+     */
+    @PostConstruct
+    void warmUp() {
+        List<UUID> superseded = new ArrayList<>();
+        jdbcTemplate.query(LOAD_ACTIVE, rs -> {
+            RefreshToken token = new RefreshToken();
+            token.setId(rs.getObject("id", UUID.class));
+            token.setToken(rs.getBytes("token"));
+            token.setEmployeeName(rs.getString("employee_name"));
+            token.setTokenFamily(rs.getString("token_family"));
+            token.setDeviceInfo(rs.getString("device_info"));
+            token.setExpirationDate(rs.getTimestamp("expiration_date").toLocalDateTime());
+            token.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+
+            // Rows come oldest first, so a later row of the same family supersedes the earlier one
+            RefreshToken older = activeByFamily.put(token.getTokenFamily(), token);
+            if (older != null) {
+                familyByDigest.remove(TokenHasher.key(older.getToken()));
+                superseded.add(older.getId());
+            }
+            familyByDigest.put(TokenHasher.key(token.getToken()), token.getTokenFamily());
+        }, Timestamp.valueOf(LocalDateTime.now()));
+
+        if (!superseded.isEmpty()) {
+            jdbcTemplate.batchUpdate(REVOKE_TOKEN, superseded.stream().map(id -> new Object[]{id}).toList());
+        }
+        log.info("Refresh token store warmed with {} sessions ({} superseded rows revoked)",
+                activeByFamily.size(), superseded.size());
+    }
+
+    @Override
+    public void save(RefreshToken token) {
+        if (token.getId() == null) {
+            token.setId(UUID.randomUUID());
+        }
+        RefreshToken previous = activeByFamily.put(token.getTokenFamily(), token);
+        if (previous != null) {
+            familyByDigest.remove(TokenHasher.key(previous.getToken()));
+        }
+        familyByDigest.put(TokenHasher.key(token.getToken()), token.getTokenFamily());
+        pending.add(insert(token));
+        if (previous != null) {
+            pending.add(new PendingWrite(REVOKE_TOKEN, new Object[]{previous.getId()}, null));
+        }
+    }
+
+    @Override
+    public Optional<RefreshToken> findActiveByDigest(byte[] digest) {
+        String family = familyByDigest.get(TokenHasher.key(digest));
+        if (family == null) {
+            return Optional.empty();
+        }
+        RefreshToken token = activeByFamily.get(family);
+        return token != null && TokenHasher.matches(digest, token.getToken()) ? Optional.of(token) : Optional.empty();
+    }
+
+    @Override
+    public boolean rotate(RefreshToken current, RefreshToken replacement) {
+        if (replacement.getId() == null) {
+            replacement.setId(UUID.randomUUID());
+        }
+        boolean[] swapped = {false};
+        activeByFamily.computeIfPresent(current.getTokenFamily(), (family, active) -> {
+            if (!active.getId().equals(current.getId())) {
+                return active; // someone else rotated it first
+            }
+            swapped[0] = true;
+            // Queued under the map entry's lock, so a concurrent revokeFamily sees these writes
+            // Insert before revoke: see the replay rule in the class comment
+            pending.add(insert(replacement));
+            pending.add(new PendingWrite(REVOKE_TOKEN, new Object[]{current.getId()}, null));
+            return replacement;
+        });
+        if (!swapped[0]) {
+            return false;
+        }
+
+        familyByDigest.remove(TokenHasher.key(current.getToken()));
+        familyByDigest.put(TokenHasher.key(replacement.getToken()), replacement.getTokenFamily());
+        return true;
+    }
+
+    /**
+     * Written synchronously; if the update fails the session is restored and the exception propagates
+     */
+    @Override
+    public int revokeFamily(String tokenFamily) {
+        writeLock.lock();
+        try {
+            RefreshToken removed = activeByFamily.remove(tokenFamily);
+            if (removed != null) {
+                familyByDigest.remove(TokenHasher.key(removed.getToken()));
+            }
+            revokeDurably(REVOKE_FAMILY, tokenFamily, removed != null ? List.of(removed) : List.of());
+            return removed != null ? 1 : 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int revokeAllForEmployee(String employeeName) {
+        writeLock.lock();
+        try {
+            List<RefreshToken> removed = new ArrayList<>();
+            for (RefreshToken token : new ArrayList<>(activeByFamily.values())) {
+                if (employeeName.equals(token.getEmployeeName())
+                        && activeByFamily.remove(token.getTokenFamily(), token)) {
+                    familyByDigest.remove(TokenHasher.key(token.getToken()));
+                    removed.add(token);
+                }
+            }
+            revokeDurably(REVOKE_EMPLOYEE, employeeName, removed);
+            return removed.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Run the revoke now, then drop the queued inserts of the revoked families.
+     * Called holding writeLock, so no batch is in flight.
+     */
+    private void revokeDurably(String sql, String arg, List<RefreshToken> removed) {
+        try {
+            jdbcTemplate.update(sql, arg);
+        } catch (RuntimeException e) {
+            for (RefreshToken token : removed) {
+                if (activeByFamily.putIfAbsent(token.getTokenFamily(), token) == null) {
+                    familyByDigest.put(TokenHasher.key(token.getToken()), token.getTokenFamily());
+                }
+            }
+            throw e;
+        }
+        if (!removed.isEmpty()) {
+            Set<String> families = removed.stream().map(RefreshToken::getTokenFamily).collect(Collectors.toSet());
+            pending.removeIf(write -> write.tokenFamily() != null && families.contains(write.tokenFamily()));
+        }
+    }
+
+    @Override
+    public long countActiveSessions(String employeeName, LocalDateTime now) {
+        return activeByFamily.values().stream()
+                .filter(token -> employeeName.equals(token.getEmployeeName()))
+                .filter(token -> token.getExpirationDate().isAfter(now))
+                .count();
+    }
+
+    /**
+     * Write queued changes in batches of max-batch, one transaction per batch.
+     * On failure the batch goes back to the front of the queue and is retried next time;
+     * after max-attempts failures it is written one write at a time instead, dropping
+     * the writes that still fail. The lock is taken per batch, so a revocation waits
+     * for at most one batch, not for the whole queue.
+     */
+    @Scheduled(fixedDelayString = "${security.refresh-token.write-behind.flush-interval-ms:500}")
+    @PreDestroy
+    public void flush() {
+        while (flushBatch()) {
+            // next batch
+        }
+    }
+
+    /**
+     * Write one batch; false when the queue is empty or the batch is to be retried later
+     */
+    private boolean flushBatch() {
+        writeLock.lock();
+        try {
+            List<PendingWrite> batch = new ArrayList<>();
+            PendingWrite write;
+            while (batch.size() < maxBatch && (write = pending.poll()) != null) {
+                batch.add(write);
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+
+            long start = System.currentTimeMillis();
+            int written = batch.size();
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(batch));
+            } catch (RuntimeException e) {
+                flushFailures.incrementAndGet();
+                if (++headAttempts < maxAttempts) {
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        pending.addFirst(batch.get(i));
+                    }
+                    log.error("Refresh token write-behind flush failed (attempt {} of {}): {}",
+                            headAttempts, maxAttempts, e.getMessage());
+                    return false;
+                }
+                log.error("Refresh token write-behind batch failed {} times, writing it one row at a time: {}",
+                        headAttempts, e.getMessage());
+                written = flushOneByOne(batch);
+            }
+            headAttempts = 0;
+            flushedWrites.addAndGet(written);
+            lastFlushMillis = System.currentTimeMillis() - start;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many of the writes went through
+     */
+    private int flushOneByOne(List<PendingWrite> batch) {
+        int written = 0;
+        for (PendingWrite write : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(List.of(write)));
+                written++;
+            } catch (RuntimeException e) {
+                droppedWrites.incrementAndGet();
+                log.error("Dropping refresh token write [{}] for id {}: {}",
+                        write.sql().lines().findFirst().orElse(""), write.args()[0], e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Drop expired sessions from memory; the purge job removes the rows
+     */
+    @Scheduled(fixedDelayString = "${security.refresh-token.write-behind.expiry-sweep-ms:60000}")
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RefreshToken token : new ArrayList<>(activeByFamily.values())) {
+            if (!token.getExpirationDate().isAfter(now) && activeByFamily.remove(token.getTokenFamily(), token)) {
+                familyByDigest.remove(TokenHasher.key(token.getToken()));
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("store", "memory");
+        stats.put("activeSessions", activeByFamily.size());
+        stats.put("pendingWrites", pending.size());
+        stats.put("flushedWrites", flushedWrites.get());
+        stats.put("flushFailures", flushFailures.get());
+        stats.put("droppedWrites", droppedWrites.get());
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+
+    /**
+     * Consecutive writes with the same statement go out as one JDBC batch
+     */
+    private void apply(List<PendingWrite> batch) {
+        int i = 0;
+        while (i < batch.size()) {
+            String sql = batch.get(i).sql();
+            List<Object[]> args = new ArrayList<>();
+            while (i < batch.size() && batch.get(i).sql().equals(sql)) {
+                args.add(batch.get(i).args());
+                i++;
+            }
+            jdbcTemplate.batchUpdate(sql, args);
+        }
+    }
+
+    private static PendingWrite insert(RefreshToken token) {
+        return new PendingWrite(INSERT, new Object[]{
+                token.getId(),
+                token.getToken(),
+                token.getEmployeeName(),
+                token.getTokenFamily(),
+                token.getDeviceInfo(),
+                Timestamp.valueOf(token.getExpirationDate()),
+                Timestamp.valueOf(token.getCreatedAt())
+        }, token.getTokenFamily());
+    }
+
+    /**
+     * tokenFamily is set for inserts only, so a revocation can drop them from the queue
+     */
+    private record PendingWrite(String sql, Object[] args, String tokenFamily) {
+    }
+}
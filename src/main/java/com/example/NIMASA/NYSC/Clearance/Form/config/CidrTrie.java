@@ -0,0 +1,117 @@
+package com.example.NIMASA.NYSC.Clearance.Form.config;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Binary prefix trie of CIDR blocks (IPv4 and IPv6), built once at startup.
+ * A lookup walks at most 32/128 bits and stops at the first covering prefix.
+ * Address parsing never does DNS: IPv4 is parsed by hand and anything else
+ * must be an IPv6 literal.
+ */
+final class CidrTrie {
+
+    private static final class Node {
+        Node zero;
+        Node one;
+        boolean terminal;
+    }
+
+    private final Node v4 = new Node();
+    private final Node v6 = new Node();
+    private int size;
+
+    /**
+     * Add a block like "10.0.0.0/8", "fc00::/7" or a bare address (host route)
+     */
+    void add(String cidr) {
+        int slash = cidr.indexOf('/');
+        String address = slash < 0 ? cidr : cidr.substring(0, slash);
+        byte[] bytes = parseAddress(address);
+        if (bytes == null) {
+            throw new IllegalArgumentException("Invalid trusted proxy address: " + cidr);
+        }
+        int maxBits = bytes.length * 8;
+        int prefix = slash < 0 ? maxBits : Integer.parseInt(cidr.substring(slash + 1));
+        if (prefix < 0 || prefix > maxBits) {
+            throw new IllegalArgumentException("Invalid prefix length: " + cidr);
+        }
+
+        Node node = bytes.length == 4 ? v4 : v6;
+        for (int i = 0; i < prefix && !node.terminal; i++) {
+            if (bit(bytes, i)) {
+                node = node.one != null ? node.one : (node.one = new Node());
+            } else {
+                node = node.zero != null ? node.zero : (node.zero = new Node());
+            }
+        }
+        node.terminal = true;
+        size++;
+    }
+
+    boolean contains(byte[] address) {
+        Node node = address.length == 4 ? v4 : v6;
+        int bits = address.length * 8;
+        for (int i = 0; node != null; i++) {
+            if (node.terminal) return true;
+            if (i == bits) return false;
+            node = bit(address, i) ? node.one : node.zero;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static boolean bit(byte[] bytes, int index) {
+        return (bytes[index >>> 3] & (0x80 >>> (index & 7))) != 0;
+    }
+
+    /**
+     * 4 or 16 bytes, or null when this is not an IP literal. IPv4-mapped
+     * IPv6 addresses come back as 4 bytes so they match IPv4 blocks.
+     */
+    static byte[] parseAddress(String s) {
+        if (s.isEmpty()) return null;
+        if (s.indexOf(':') < 0) {
+            return parseIpv4(s);
+        }
+        if (s.charAt(0) == '[' && s.charAt(s.length() - 1) == ']') {
+            s = s.substring(1, s.length() - 1);
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            // hex, ':' and '.' only: getByName then treats it as a literal, never a hostname
+            if (Character.digit(c, 16) < 0 && c != ':' && c != '.') return null;
+        }
+        try {
+            // IPv4-mapped literals (::ffff:a.b.c.d) come back as an Inet4Address
+            return InetAddress.getByName(s).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static byte[] parseIpv4(String s) {
+        byte[] bytes = new byte[4];
+        int octet = 0;
+        int value = -1;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                if (value < 0 || octet == 3) return null;
+                bytes[octet++] = (byte) value;
+                value = -1;
+            } else if (c >= '0' && c <= '9') {
+                value = value < 0 ? c - '0' : value * 10 + (c - '0');
+                if (value > 255) return null;
+            } else {
+                return null;
+            }
+        }
+        if (value < 0 || octet != 3) return null;
+        bytes[3] = (byte) value;
+        return bytes;
+    }
+}
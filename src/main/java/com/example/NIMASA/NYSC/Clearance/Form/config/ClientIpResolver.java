@@ -0,0 +1,85 @@
+package com.example.NIMASA.NYSC.Clearance.Form.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * CLIENT IP RESOLVER
+ * -------------------------------------------------------------
+ * Works out the real client IP once per request and stores it as a request
+ * attribute, so rate limiting and device info all see the same value.
+ *
+ * X-Forwarded-For is only believed as far as it was written by our own
+ * proxies: starting from the TCP peer, walk the chain right to left while
+ * the current hop is a trusted proxy (security.client-ip.trusted-proxies).
+ * The first address not vouched for that way is the client. A client
+ * prepending fake entries cannot move that point, unlike taking the
+ * leftmost entry.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ClientIpResolver extends OncePerRequestFilter {
+
+    public static final String ATTRIBUTE = ClientIpResolver.class.getName() + ".clientIp";
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final CidrTrie trustedProxies = new CidrTrie();
+
+    public ClientIpResolver(@Value("${security.client-ip.trusted-proxies:}") String trustedProxies) {
+        for (String cidr : trustedProxies.split(",")) {
+            if (!cidr.isBlank()) {
+                this.trustedProxies.add(cidr.trim());
+            }
+        }
+    }
+
+    /**
+     * Client IP resolved by the filter (falls back to the TCP peer outside a filtered request)
+     */
+    public static String clientIp(HttpServletRequest request) {
+        Object ip = request.getAttribute(ATTRIBUTE);
+        return ip != null ? (String) ip : request.getRemoteAddr();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(ATTRIBUTE, resolve(request.getRemoteAddr(), request.getHeader(FORWARDED_FOR)));
+        filterChain.doFilter(request, response);
+    }
+
+    String resolve(String remoteAddr, String forwardedFor) {
+        if (forwardedFor == null || trustedProxies.size() == 0) {
+            return remoteAddr;
+        }
+
+        String client = remoteAddr;
+        int end = forwardedFor.length();
+        while (end > 0 && isTrusted(client)) {
+            int comma = forwardedFor.lastIndexOf(',', end - 1);
+            String hop = forwardedFor.substring(comma + 1, end).trim();
+            end = Math.max(comma, 0);
+            if (hop.isEmpty()) continue;
+            if (CidrTrie.parseAddress(hop) == null) {
+                break; // not an IP: stop at the last hop we could vouch for
+            }
+            client = hop;
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String ip) {
+        byte[] address = CidrTrie.parseAddress(ip);
+        return address != null && trustedProxies.contains(address);
+    }
+}
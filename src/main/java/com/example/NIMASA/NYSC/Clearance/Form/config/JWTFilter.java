@@ -1,15 +1,20 @@
 
 package com.example.NIMASA.NYSC.Clearance.Form.config;
 
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.AccessTokenCache;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.AccessTokenDenyList;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.AuthCookiePolicy;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.AuthzVersionRegistry;
 import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.CustomUserDetailsService;
 import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.JwtService;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.TokenPrincipal;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.Cookie;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,14 +28,22 @@ import java.io.IOException;
 @Component
 public class JWTFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
-    private final ApplicationContext context;
+    private final AccessTokenCache accessTokenCache;
+    private final CustomUserDetailsService userDetailsService;
+    private final AuthzVersionRegistry authzVersionRegistry;
+    private final AccessTokenDenyList accessTokenDenyList;
+    private final AuthCookiePolicy authCookiePolicy;
+
+    // When false every request loads the database-backed EmployeePrincipal
+    @Value("${security.authz.claims-principal:true}")
+    private boolean claimsPrincipalEnabled;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String accessToken = null;
-        String username = null;
+        VerifiedClaims claims = null;
 
         // Here i am looking for access tokens
         // Priority: Authorization header first then cookie
@@ -39,33 +52,39 @@ public class JWTFilter extends OncePerRequestFilter {
             accessToken = authHeader.substring(7);
         } else {
             // Checking for access token in cookie
-            accessToken = extractAccessTokenFromCookie(request);
+            accessToken = authCookiePolicy.readAccessToken(request);
         }
 
         // here i am trying to extract username and validate token type
         if (accessToken != null) {
             try {
-                username = jwtService.extractUsername(accessToken);
-                // this is to verify this is my access token not refresh
-                String tokenType = jwtService.extractTokenType(accessToken);
+                // Single parse + signature check (skipped on a cache hit); everything below reuses these claims
+                claims = accessTokenCache.getOrVerify(accessToken, jwtService::verify);
 
-                if (!"access".equals(tokenType)) {
+                // this is to verify this is my access token not refresh
+                if (!claims.isAccessToken()) {
                     // Someone is trying to use a refresh token as an access token
                     setErrorResponse(response, "Invalid token type");
                     return;
                 }
+
+                // Session logged out (or all sessions revoked) after this token was issued
+                if (accessTokenDenyList.isDenied(claims)) {
+                    setErrorResponse(response, "Token has been revoked");
+                    return;
+                }
             } catch (Exception e) {
                 // Token is expired
                 // Frontend willl handle my 401 and my refresh token automatically
             }
         }
-        // Authenticate if we have a valid usernamw and no existing authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Authenticate if we have verified claims and no existing authentication
+        if (claims != null && claims.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = context.getBean(CustomUserDetailsService.class).loadUserByUsername(username);
+                UserDetails userDetails = resolvePrincipal(claims);
 
                 // Validating my  access token
-                if (jwtService.validateAccessToken(accessToken, userDetails)) {
+                if (jwtService.validateAccessToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -79,19 +98,17 @@ public class JWTFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-//    =========================================================================
-//     CLASS TO EXTRACTING MY TOKEN FROM COOKIES
-//     =========================================================================
-    private String extractAccessTokenFromCookie(HttpServletRequest request) {
-        Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if ("accessToken".equals(cookie.getName())) {
-                    return cookie.getValue();
-                }
-            }
+    /**
+     * Build the principal from the token's authz claims when they are still current,
+     * otherwise (old token, role/department edited, switch off) load it from the database
+     */
+    private UserDetails resolvePrincipal(VerifiedClaims claims) {
+        VerifiedClaims.Authz authz = claims.authz();
+        if (claimsPrincipalEnabled && authz != null
+                && authzVersionRegistry.isCurrent(claims.subject(), authz.authzVersion())) {
+            return TokenPrincipal.from(claims);
         }
-        return null;
+        return userDetailsService.loadUserByUsername(claims.subject());
     }
 
     /**
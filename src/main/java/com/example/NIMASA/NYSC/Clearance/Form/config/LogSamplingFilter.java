@@ -0,0 +1,73 @@
+package com.example.NIMASA.NYSC.Clearance.Form.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LOG SAMPLING FILTER
+ * -------------------------------------------------------------
+ * Logback turbo filter (configured in logback-spring.xml) that keeps
+ * only 1 in N DEBUG/TRACE events for the configured logger prefixes,
+ * e.g. the per-request refresh/login debug lines. Counting is per
+ * logger, so a chatty logger cannot starve a quiet one.
+ *
+ * It runs before any event is built, so dropped events cost one
+ * counter increment. INFO and above always pass, and isDebugEnabled()
+ * checks (no format) are left alone so callers still see the real level.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private List<String> loggerPrefixes = List.of();
+    private int oneIn = 1;
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (oneIn <= 1 || format == null || level.isGreaterOrEqual(Level.INFO)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Below the logger's level it is dropped anyway; don't burn a sample on it
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel()) || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long n = counters.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+        return n % oneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isSampled(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comma-separated logger name prefixes to sample
+     */
+    public void setLoggers(String loggers) {
+        this.loggerPrefixes = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Keep one event in this many (1 = keep everything)
+     */
+    public void setOneIn(int oneIn) {
+        this.oneIn = oneIn;
+    }
+}
@@ -2,6 +2,7 @@
 //}
 package com.example.NIMASA.NYSC.Clearance.Form.config;
 
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.PasswordHashPolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +30,7 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JWTFilter jwtFilter;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final PasswordHashPolicy passwordHashPolicy;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -123,9 +125,10 @@ public class SecurityConfig {
         return provider;
     }
 
+    // Work factor calibrated for this machine at startup (see PasswordHashPolicy)
     @Bean
     public BCryptPasswordEncoder encoder() {
-        return new BCryptPasswordEncoder(10);
+        return new BCryptPasswordEncoder(passwordHashPolicy.getCost());
     }
 
     @Bean
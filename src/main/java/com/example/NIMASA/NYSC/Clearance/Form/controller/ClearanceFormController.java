@@ -1,10 +1,10 @@
 
 package com.example.NIMASA.NYSC.Clearance.Form.controller;
 import com.example.NIMASA.NYSC.Clearance.Form.model.CorpsMember;
-import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceFormView;
 import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceRepository;
 import com.example.NIMASA.NYSC.Clearance.Form.repository.CorpsMemberRepository;
-import com.example.NIMASA.NYSC.Clearance.Form.securityModel.EmployeePrincipal;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.AuthenticatedEmployee;
 import com.example.NIMASA.NYSC.Clearance.Form.service.ResponseFilterService;
 import com.example.NIMASA.NYSC.Clearance.Form.service.ClearanceFormService;
 import com.example.NIMASA.NYSC.Clearance.Form.DTOs.*;
@@ -17,7 +17,9 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -35,6 +37,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/clearance-forms")
 @RequiredArgsConstructor
@@ -65,6 +68,14 @@ public class ClearanceFormController {
         }
     }
 
+    private CursorPageResponseDTO<FilteredClearanceFormResponseDTO> toResponsePage(
+            CursorPageResponseDTO<ClearanceFormView> page) {
+        return new CursorPageResponseDTO<>(
+                responseFilterService.toResponses(page.getItems()),
+                page.getNextCursor(),
+                page.isHasMore());
+    }
+
 
     @PostMapping("/submission")
     @Operation(
@@ -109,15 +120,16 @@ public class ClearanceFormController {
 
     @GetMapping
     @Operation(
-            summary = "Get all clearance forms")
-    public ResponseEntity<List<FilteredClearanceFormResponseDTO>> getAllForms(
-            @RequestParam(value = "role", required = false) String roleParam) {
-
-        List<ClearanceForm> forms = clearanceFormService.getAllForms();
-        UserRole userRole = parseUserRole(roleParam);
-        List<FilteredClearanceFormResponseDTO> filteredForms = responseFilterService.filterFormsByRole(forms, userRole);
-
-        return ResponseEntity.ok(filteredForms);
+            summary = "Get all clearance forms",
+            description = "Newest first, one page at a time. Pass nextCursor from the previous page as cursor to continue.")
+    public ResponseEntity<CursorPageResponseDTO<FilteredClearanceFormResponseDTO>> getAllForms(
+            @RequestParam(value = "role", required = false) String roleParam,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+
+        CursorPageResponseDTO<ClearanceFormView> forms =
+                clearanceFormService.getAllForms(parseUserRole(roleParam), cursor, size);
+        return ResponseEntity.ok(toResponsePage(forms));
     }
 //  =============================================================================
 //  Role based status filtering
@@ -125,15 +137,15 @@ public class ClearanceFormController {
     @GetMapping("/status/{status}")
     @Operation(
             summary = "Get clearance forms by status")
-    public ResponseEntity<List<FilteredClearanceFormResponseDTO>> getByStatus(
+    public ResponseEntity<CursorPageResponseDTO<FilteredClearanceFormResponseDTO>> getByStatus(
             @PathVariable FormStatus status,
-            @RequestParam(value = "role", required = false) String roleParam) {
-
-        List<ClearanceForm> forms = clearanceFormService.getByStatus(status);
-        UserRole userRole = parseUserRole(roleParam);
-        List<FilteredClearanceFormResponseDTO> filteredForms = responseFilterService.filterFormsByRole(forms, userRole);
+            @RequestParam(value = "role", required = false) String roleParam,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
 
-        return ResponseEntity.ok(filteredForms);
+        CursorPageResponseDTO<ClearanceFormView> forms =
+                clearanceFormService.getByStatus(status, parseUserRole(roleParam), cursor, size);
+        return ResponseEntity.ok(toResponsePage(forms));
     }
 //  ==============================================================
 //  Enpoint for supervisor to review forms
@@ -212,8 +224,10 @@ public class ClearanceFormController {
             description = "Retrieves clearance forms that are pending review for the authenticated user (Supervisor, HOD, or Admin). Role and department are derived from authentication."
     )
 
-    public ResponseEntity<List<FilteredClearanceFormResponseDTO>> getPendingFormsForUser(
-            @RequestParam(value = "role", required = false) String roleParam) {
+    public ResponseEntity<CursorPageResponseDTO<FilteredClearanceFormResponseDTO>> getPendingFormsForUser(
+            @RequestParam(value = "role", required = false) String roleParam,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
 
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -224,23 +238,22 @@ public class ClearanceFormController {
             UserRole userRole;
             String userDepartment;
 
-            if (authentication.getPrincipal() instanceof EmployeePrincipal) {
-                EmployeePrincipal employeePrincipal = (EmployeePrincipal) authentication.getPrincipal();
-                userRole = employeePrincipal.getEmployee().getRole();
-                userDepartment = employeePrincipal.getEmployee().getDepartment();
+            if (authentication.getPrincipal() instanceof AuthenticatedEmployee) {
+                AuthenticatedEmployee employeePrincipal = (AuthenticatedEmployee) authentication.getPrincipal();
+                userRole = employeePrincipal.getRole();
+                userDepartment = employeePrincipal.getDepartment();
             } else {
                 userRole = parseUserRole(roleParam);
                 userDepartment = null;
             }
-            List<ClearanceForm> pendingForm = clearanceFormService.getPendingFormsForUser(userRole, userDepartment);
+            CursorPageResponseDTO<ClearanceFormView> pendingForms =
+                    clearanceFormService.getPendingFormsForUser(userRole, userDepartment, cursor, size);
 
-            List<FilteredClearanceFormResponseDTO> filteredForms =
-                    responseFilterService.filterFormsByRole(pendingForm, userRole);
-            return ResponseEntity.ok(filteredForms);
+            return ResponseEntity.ok(toResponsePage(pendingForms));
 
         } catch (Exception e) {
             // Log the error and return bad request
-            System.err.println("Error getting pending forms: " + e.getMessage());
+            log.warn("Error getting pending forms: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -259,10 +272,10 @@ public class ClearanceFormController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            if (authentication.getPrincipal() instanceof EmployeePrincipal) {
-                EmployeePrincipal employeePrincipal = (EmployeePrincipal) authentication.getPrincipal();
-                UserRole userRole = employeePrincipal.getEmployee().getRole();
-                String userDepartment = employeePrincipal.getEmployee().getDepartment();
+            if (authentication.getPrincipal() instanceof AuthenticatedEmployee) {
+                AuthenticatedEmployee employeePrincipal = (AuthenticatedEmployee) authentication.getPrincipal();
+                UserRole userRole = employeePrincipal.getRole();
+                String userDepartment = employeePrincipal.getDepartment();
                 long pendingCount = clearanceFormService.getPendingCountForUser(userRole, userDepartment);
 
                 Map<String, Object> response = new HashMap<>();
@@ -276,7 +289,7 @@ public class ClearanceFormController {
             return ResponseEntity.badRequest().build();
 
         } catch (Exception e) {
-            System.err.println("Error getting pending count: " + e.getMessage());
+            log.warn("Error getting pending count: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -299,13 +312,13 @@ public class ClearanceFormController {
             }
 
             // Check if user is an admin
-            EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-            if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+            AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+            if (principal.getRole() != UserRole.ADMIN) {
                 return ResponseEntity.status(403).body("Access denied. Admin role required.");
             }
 
             // Get admin name from authenticated user
-            String adminName = principal.getEmployee().getName();
+            String adminName = principal.getFullName();
 
             ClearanceForm form = clearanceFormService.approveForm(id, adminName);
             return ResponseEntity.ok(form);
@@ -333,13 +346,13 @@ public class ClearanceFormController {
             }
 
             // Check if user is an admin
-            EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-            if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+            AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+            if (principal.getRole() != UserRole.ADMIN) {
                 return ResponseEntity.status(403).body("Access denied. Admin role required.");
             }
 
             // Get admin name from authenticated user
-            String adminName = principal.getEmployee().getName();
+            String adminName = principal.getFullName();
 
             ClearanceForm form = clearanceFormService.rejectForm(id, adminName);
             return ResponseEntity.ok(form);
@@ -367,8 +380,8 @@ public class ClearanceFormController {
             }
 
             // Check if user is an admin
-            EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-            if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+            AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+            if (principal.getRole() != UserRole.ADMIN) {
                 return ResponseEntity.status(403).body("Access denied. Admin role required.");
             }
 
@@ -378,7 +391,7 @@ public class ClearanceFormController {
             }
 
             // Get admin name from authenticated user
-            String adminName = principal.getEmployee().getName();
+            String adminName = principal.getFullName();
 
             // Delete the form
             clearanceFormService.deleteForm(id, adminName);
@@ -408,15 +421,15 @@ public class ClearanceFormController {
             description = "Finds clearance forms submitted by a specific corps member. Supports role-based filtering of results."
     )
 
-    public ResponseEntity<List<FilteredClearanceFormResponseDTO>> getCorpsMember(
+    public ResponseEntity<CursorPageResponseDTO<FilteredClearanceFormResponseDTO>> getCorpsMember(
             @RequestBody CorpsMemberFormRequestDTO corpsMemberDTO,
-            @RequestParam(value = "role", required = false) String roleParam) {
-
-        List<ClearanceForm> forms = clearanceFormService.getCorpMember(corpsMemberDTO.getCorpsName());
-        UserRole userRole = parseUserRole(roleParam);
-        List<FilteredClearanceFormResponseDTO> filteredForms = responseFilterService.filterFormsByRole(forms, userRole);
+            @RequestParam(value = "role", required = false) String roleParam,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
 
-        return ResponseEntity.ok(filteredForms);
+        CursorPageResponseDTO<ClearanceFormView> forms = clearanceFormService.getCorpMember(
+                corpsMemberDTO.getCorpsName(), parseUserRole(roleParam), cursor, size);
+        return ResponseEntity.ok(toResponsePage(forms));
     }
 
     @GetMapping("/search/supervisor/{supervisorName}")
@@ -425,15 +438,15 @@ public class ClearanceFormController {
             description = "Finds clearance forms reviewed by a given supervisor. Supports role-based filtering."
     )
 
-    public ResponseEntity<List<FilteredClearanceFormResponseDTO>> getSupervisor(
+    public ResponseEntity<CursorPageResponseDTO<FilteredClearanceFormResponseDTO>> getSupervisor(
             @PathVariable String supervisorName,
-            @RequestParam(value = "role", required = false) String roleParam) {
-
-        List<ClearanceForm> forms = clearanceFormService.getSupervisor(supervisorName);
-        UserRole userRole = parseUserRole(roleParam);
-        List<FilteredClearanceFormResponseDTO> filteredForms = responseFilterService.filterFormsByRole(forms, userRole);
+            @RequestParam(value = "role", required = false) String roleParam,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
 
-        return ResponseEntity.ok(filteredForms);
+        CursorPageResponseDTO<ClearanceFormView> forms =
+                clearanceFormService.getSupervisor(supervisorName, parseUserRole(roleParam), cursor, size);
+        return ResponseEntity.ok(toResponsePage(forms));
     }
 
     @GetMapping("/search/hod/{hodName}")
@@ -442,15 +455,15 @@ public class ClearanceFormController {
             description = "Finds clearance forms reviewed by a given Head of Department. Supports role-based filtering."
     )
 
-    public ResponseEntity<List<FilteredClearanceFormResponseDTO>> getHodName(
+    public ResponseEntity<CursorPageResponseDTO<FilteredClearanceFormResponseDTO>> getHodName(
             @PathVariable String hodName,
-            @RequestParam(value = "role", required = false) String roleParam) {
+            @RequestParam(value = "role", required = false) String roleParam,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
 
-        List<ClearanceForm> forms = clearanceFormService.getHodName(hodName);
-        UserRole userRole = parseUserRole(roleParam);
-        List<FilteredClearanceFormResponseDTO> filteredForms = responseFilterService.filterFormsByRole(forms, userRole);
-
-        return ResponseEntity.ok(filteredForms);
+        CursorPageResponseDTO<ClearanceFormView> forms =
+                clearanceFormService.getHodName(hodName, parseUserRole(roleParam), cursor, size);
+        return ResponseEntity.ok(toResponsePage(forms));
     }
 
     // Utility endpoints
@@ -482,22 +495,23 @@ public class ClearanceFormController {
     @GetMapping("/search/date-range")
     @Operation(
             summary = "Search clearance forms by date range",
-            description = "Finds clearance forms submitted within a given start and end date. Supports role-based filtering."
+            description = "Finds clearance forms submitted from startDate through endDate (both inclusive, yyyy-MM-dd), "
+                    + "optionally for one status and/or department. Paginated like the other listings. Supports role-based filtering."
     )
 
-    public ResponseEntity<List<FilteredClearanceFormResponseDTO>> getFormsBetweenDates(
-            @RequestParam String startDate,
-            @RequestParam String endDate,
-            @RequestParam(value = "role", required = false) String roleParam) {
-
-        LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
-        LocalDateTime end = LocalDate.parse(endDate).atTime(23, 59, 59);
-
-        List<ClearanceForm> forms = clearanceFormService.getFormBetweenDates(start, end);
-        UserRole userRole = parseUserRole(roleParam);
-        List<FilteredClearanceFormResponseDTO> filteredForms = responseFilterService.filterFormsByRole(forms, userRole);
-
-        return ResponseEntity.ok(filteredForms);
+    public ResponseEntity<CursorPageResponseDTO<FilteredClearanceFormResponseDTO>> getFormsBetweenDates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "status", required = false) FormStatus status,
+            @RequestParam(value = "department", required = false) String department,
+            @RequestParam(value = "role", required = false) String roleParam,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+
+        // Inclusive endDate at the API, half-open [startDate, endDate + 1) in the query
+        CursorPageResponseDTO<ClearanceFormView> forms = clearanceFormService.getFormsBetweenDates(
+                startDate, endDate.plusDays(1), status, department, parseUserRole(roleParam), cursor, size);
+        return ResponseEntity.ok(toResponsePage(forms));
     }
 
     // New endpoint for corps members to get printable approved forms
@@ -544,15 +558,7 @@ public class ClearanceFormController {
     public ResponseEntity<List<PrintableFormResponseDTO>> getApprovedFormsForCorpsMember(
             @PathVariable String corpsName) {
 
-        List<ClearanceForm> approvedForms = clearanceFormService.getByStatus(FormStatus.APPROVED);
-        List<PrintableFormResponseDTO> corpsApprovedForms = approvedForms.stream()
-                .filter(form -> form.getCorpsName().equalsIgnoreCase(corpsName))
-                .map(form -> clearanceFormService.getPrintableForm(form.getId(), corpsName))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
-
-        return ResponseEntity.ok(corpsApprovedForms);
+        return ResponseEntity.ok(clearanceFormService.getApprovedPrintableForms(corpsName));
     }
 
     private String determineContentType(String filename) {
@@ -580,11 +586,10 @@ public class ClearanceFormController {
                 return ResponseEntity.status(401).build();
             }
 
-            EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-            Employee currentUser = principal.getEmployee();
+            AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
 
             // Check if user is admin
-            if (currentUser.getRole() != UserRole.ADMIN) {
+            if (principal.getRole() != UserRole.ADMIN) {
                 return ResponseEntity.status(403).build();
             }
 
@@ -617,10 +622,10 @@ public class ClearanceFormController {
         String department = null;
         UserRole role = null;
 
-        if (authentication.getPrincipal() instanceof EmployeePrincipal principal) {
-            username = principal.getEmployee().getName();
-            department = principal.getEmployee().getDepartment();
-            role = principal.getEmployee().getRole();
+        if (authentication.getPrincipal() instanceof AuthenticatedEmployee principal) {
+            username = principal.getFullName();
+            department = principal.getDepartment();
+            role = principal.getRole();
         } else {
             // handle corps members separately
             return ResponseEntity.badRequest().body("Corps members cannot use this endpoint. Use /corps/{id}/forms/track instead.");
@@ -2,16 +2,21 @@ package com.example.NIMASA.NYSC.Clearance.Form.controller;
 
 import com.example.NIMASA.NYSC.Clearance.Form.DTOs.*;
 import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
-import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.AccessTokenCache;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.AccessTokenDenyList;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.CustomUserDetailsService;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.EmployeeCache;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.HashingCapacityExceededException;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.PasswordHashingExecutor;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RefreshCoordinator;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RefreshTokenPurgeJob;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RefreshTokenStore;
 import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.UnifiedAuthService;
 import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RateLimitService;
-import com.example.NIMASA.NYSC.Clearance.Form.model.ClearanceForm;
-import com.example.NIMASA.NYSC.Clearance.Form.model.CorpsMember;
+import com.example.NIMASA.NYSC.Clearance.Form.config.ClientIpResolver;
 import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
-import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceRepository;
-import com.example.NIMASA.NYSC.Clearance.Form.repository.CorpsMemberRepository;
-import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
-import com.example.NIMASA.NYSC.Clearance.Form.securityModel.EmployeePrincipal;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.AuthenticatedEmployee;
+import com.example.NIMASA.NYSC.Clearance.Form.service.AdminStatsService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -29,7 +34,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,10 +62,16 @@ import java.util.UUID;
 public class UnifiedAuthController {
 
     private final UnifiedAuthService unifiedAuthService;
+    private final AdminStatsService adminStatsService;
     private final RateLimitService rateLimitService;
-    private final EmployeeRepository employeeRepository;
-    private final CorpsMemberRepository corpsMemberRepository;
-    private final ClearanceRepository clearanceRepository;
+    private final AccessTokenCache accessTokenCache;
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final EmployeeCache employeeCache;
+    private final RefreshCoordinator refreshCoordinator;
+    private final RefreshTokenPurgeJob refreshTokenPurgeJob;
+    private final AccessTokenDenyList accessTokenDenyList;
+    private final RefreshTokenStore refreshTokenStore;
 
     // ============================================================
     // AUTHENTICATION ENDPOINTS
@@ -75,15 +85,24 @@ public class UnifiedAuthController {
         try {
             AuthResponseDTO authResponse = unifiedAuthService.authenticate(request, httpRequest, response);
             return ResponseEntity.ok(authResponse);
+        } catch (HashingCapacityExceededException e) {
+            // Hashing pool saturated: shed load instead of queueing more logins
+            return ResponseEntity.status(503)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of(
+                            "error", e.getMessage(),
+                            "retryAfterSeconds", e.getRetryAfterSeconds()
+                    ));
         } catch (RuntimeException e) {
             // Include rate limit info in error response
             String clientIp = getClientIp(httpRequest);
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
-            errorResponse.put("remainingAttempts", rateLimitService.getRemainingAttempts(clientIp));
+            int remainingAttempts = rateLimitService.getRemainingAttempts(clientIp, request.getName());
+            errorResponse.put("remainingAttempts", remainingAttempts);
 
-            if (rateLimitService.getRemainingAttempts(clientIp) == 0) {
-                errorResponse.put("retryAfterMinutes", rateLimitService.getTimeUntilNextAttemptMinutes(clientIp));
+            if (remainingAttempts == 0) {
+                errorResponse.put("retryAfterMinutes", rateLimitService.getTimeUntilNextAttemptMinutes(clientIp, request.getName()));
             }
 
             return ResponseEntity.badRequest().body(errorResponse);
@@ -181,8 +200,8 @@ public class UnifiedAuthController {
                 return ResponseEntity.status(401).body("Authentication is required");
             }
 
-            EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-            if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+            AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+            if (principal.getRole() != UserRole.ADMIN) {
                 return ResponseEntity.status(403).body("Access denied. Only Admin roles can access");
             }
 
@@ -240,8 +259,8 @@ public class UnifiedAuthController {
                 return ResponseEntity.status(401).body("Authentication required");
             }
 
-            EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-            if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+            AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+            if (principal.getRole() != UserRole.ADMIN) {
                 return ResponseEntity.status(403).body("Access denied. Admin role required.");
             }
             Employee updated= unifiedAuthService.editEmployee(id,dto);
@@ -269,11 +288,11 @@ public class UnifiedAuthController {
                 return ResponseEntity.status(401).body("Authentication required");
             }
 
-            EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-            if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+            AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+            if (principal.getRole() != UserRole.ADMIN) {
                 return ResponseEntity.status(403).body("Access denied. Admin role required.");
             }
-            String deactivated = unifiedAuthService.deactivateEmployee(id,principal.getEmployee().getName(),dto.getReason());
+            String deactivated = unifiedAuthService.deactivateEmployee(id,principal.getFullName(),dto.getReason());
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Employee deactivated successfully");
@@ -317,44 +336,12 @@ public class UnifiedAuthController {
                 return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
             }
 
-            EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-            if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+            AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+            if (principal.getRole() != UserRole.ADMIN) {
                 return ResponseEntity.status(403).body(Map.of("error", "Access denied. Admin role required."));
             }
 
-            List<Employee> allEmployees = employeeRepository.findAll();
-            List<CorpsMember> allCorpsMembers = corpsMemberRepository.findAll();
-            List<ClearanceForm> allForms = clearanceRepository.findAll();
-            Map<String, Object> stats = new HashMap<>();
-
-
-            stats.put("totalCorpsMembers", allCorpsMembers.size());
-            stats.put("totalEmployees", allEmployees.size());
-            stats.put("activeEmployees", allEmployees.stream().filter(Employee::isActive).count());
-            stats.put("inactiveEmployees", allEmployees.stream().filter(emp -> !emp.isActive()).count());
-            stats.put("supervisors", allEmployees.stream().filter(emp -> emp.getRole() == UserRole.SUPERVISOR).count());
-            stats.put("hods", allEmployees.stream().filter(emp -> emp.getRole() == UserRole.HOD).count());
-            stats.put("admins", allEmployees.stream().filter(emp -> emp.getRole() == UserRole.ADMIN).count());
-            stats.put("employeesWithExpiredPasswords", allEmployees.stream()
-                    .filter(emp -> emp.getLastPasswordChange().isBefore(LocalDate.now().minusMonths(3)))
-                    .count());
-
-
-            stats.put("totalForms", allForms.size());
-            stats.put("pendingForms", allForms.stream()
-                    .filter(form ->
-                                form.getStatus() == FormStatus.PENDING_SUPERVISOR
-                            || form.getStatus() == FormStatus.PENDING_HOD
-                            || form.getStatus() == FormStatus.PENDING_ADMIN)
-                    .count());
-            stats.put("approvedForms", allForms.stream()
-                    .filter(form -> form.getStatus() == FormStatus.APPROVED)
-                    .count());
-            stats.put("rejectedForms", allForms.stream()
-                    .filter(form -> form.getStatus() == FormStatus.REJECTED)
-                    .count());
-
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok(adminStatsService.getDashboardStats());
 
 
         } catch (Exception e) {
@@ -364,6 +351,35 @@ public class UnifiedAuthController {
         }
     }
 
+    @GetMapping("/admin/metrics")
+    @Operation(summary = "Get auth pipeline metrics (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<?> getAuthMetrics() {
+        // Route is permitAll: anonymous requests arrive with an authenticated AnonymousAuthenticationToken
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedEmployee principal)) {
+            return ResponseEntity.status(401).body(Map.of("error", "Authentication required"));
+        }
+
+        if (principal.getRole() != UserRole.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("error", "Access denied. Admin role required."));
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("accessTokenCache", accessTokenCache.stats());
+        metrics.put("principalCache", userDetailsService.stats());
+        metrics.put("employeeCache", employeeCache.stats());
+        metrics.put("adminStatsCache", adminStatsService.stats());
+        metrics.put("refresh", refreshCoordinator.stats());
+        metrics.put("refreshTokenPurge", refreshTokenPurgeJob.stats());
+        metrics.put("accessTokenDenyList", accessTokenDenyList.stats());
+        metrics.put("refreshTokenStore", refreshTokenStore.stats());
+        metrics.put("rateLimit", rateLimitService.stats());
+        metrics.put("passwordHashing", passwordHashingExecutor.stats());
+
+        return ResponseEntity.ok(metrics);
+    }
+
     // ============================================================
     // RATE LIMIT INFO
     // ============================================================
@@ -375,11 +391,12 @@ public class UnifiedAuthController {
 
         Map<String, Object> rateLimitStatus = new HashMap<>();
         rateLimitStatus.put("clientIp", clientIp);
-        rateLimitStatus.put("remainingAttempts", rateLimitService.getRemainingAttempts(clientIp));
-        rateLimitStatus.put("isAllowed", rateLimitService.isLoginAllowed(clientIp));
+        boolean allowed = rateLimitService.isLoginAllowed(clientIp, null);
+        rateLimitStatus.put("remainingAttempts", rateLimitService.getRemainingAttempts(clientIp, null));
+        rateLimitStatus.put("isAllowed", allowed);
 
-        if (!rateLimitService.isLoginAllowed(clientIp)) {
-            rateLimitStatus.put("retryAfterMinutes", rateLimitService.getTimeUntilNextAttemptMinutes(clientIp));
+        if (!allowed) {
+            rateLimitStatus.put("retryAfterMinutes", rateLimitService.getTimeUntilNextAttemptMinutes(clientIp, null));
         }
 
         return ResponseEntity.ok(rateLimitStatus);
@@ -390,11 +407,8 @@ public class UnifiedAuthController {
     // ============================================================
 
     private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
+        // Resolved once per request (trusted-proxy aware) by ClientIpResolver
+        return ClientIpResolver.clientIp(request);
     }
 
     // ===================================================
@@ -409,8 +423,8 @@ public class UnifiedAuthController {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
-        EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-        if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+        AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+        if (principal.getRole() != UserRole.ADMIN) {
             return ResponseEntity.status(403).body("Access denied. Only Admin can access");
         }
 
@@ -430,8 +444,8 @@ public class UnifiedAuthController {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
-        EmployeePrincipal principal = (EmployeePrincipal) authentication.getPrincipal();
-        if (principal.getEmployee().getRole() != UserRole.ADMIN) {
+        AuthenticatedEmployee principal = (AuthenticatedEmployee) authentication.getPrincipal();
+        if (principal.getRole() != UserRole.ADMIN) {
             return ResponseEntity.status(403).body("Access denied. Only Admin can access");
         }
 
@@ -14,6 +14,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
+// Indexes are managed by Flyway (db/migration: V3, V4 and the trigram index in V7)
 @Table(name = "clear_formstable")
 public class ClearanceForm {
 
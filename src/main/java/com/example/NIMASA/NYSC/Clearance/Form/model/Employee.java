@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -46,5 +47,10 @@ public class Employee {
     @Column(nullable = false)
     private LocalDate lastPasswordChange = LocalDate.now();
 
+    // Bumped whenever role or department change so access tokens carrying
+    // the old authorization claims fall back to a database lookup
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long authzVersion = 0;
 
 }
\ No newline at end of file
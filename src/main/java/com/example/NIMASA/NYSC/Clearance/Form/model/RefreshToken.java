@@ -1,5 +1,6 @@
 package com.example.NIMASA.NYSC.Clearance.Form.model;
 
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.TokenHasher;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,7 +13,12 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        // Family revocation on logout / reuse detection
+        @Index(name = "idx_refresh_tokens_family_revoked", columnList = "tokenFamily, revoked"),
+        // Logout-all, active session counts and expiry cleanup per employee
+        @Index(name = "idx_refresh_tokens_employee_revoked_exp", columnList = "employeeName, revoked, expirationDate")
+})
 public class RefreshToken {
 
     @Id
@@ -20,8 +26,9 @@ public class RefreshToken {
     @Column(updatable = false, nullable = false)
     private UUID id;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token; // The actual refresh token (hashed)
+    // SHA-256 digest of the refresh JWT (32 bytes, bytea)
+    @Column(nullable = false, unique = true, length = TokenHasher.DIGEST_LENGTH)
+    private byte[] token;
 
     private String rawToken;
 
@@ -0,0 +1,77 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read-only row of a form listing, one record per role. Each record only has
+ * the columns that role is allowed to see, and the listing query selects
+ * exactly those columns (component names are ClearanceForm attribute names),
+ * so a corps member listing never reads the remarks or signature URLs.
+ */
+public interface ClearanceFormView {
+
+    UUID id();
+    String corpsName();
+    String stateCode();
+    String department();
+    FormStatus status();
+    LocalDate createdAt();
+    LocalDate updatedAt();
+
+    // Supervisor section - SUPERVISOR, ADMIN
+    interface SupervisorSection {
+        Integer dayAbsent();
+        String conductRemark();
+        String supervisorName();
+        String supervisorSignaturePath();
+        LocalDate supervisorDate();
+    }
+
+    // HOD section - HOD, ADMIN
+    interface HodSection {
+        String hodRemark();
+        String hodName();
+        String hodSignaturePath();
+        LocalDate hodDate();
+    }
+
+    record CorpsMember(UUID id, String corpsName, String stateCode, String department,
+                       FormStatus status, LocalDate createdAt, LocalDate updatedAt)
+            implements ClearanceFormView {
+    }
+
+    record Supervisor(UUID id, String corpsName, String stateCode, String department,
+                      FormStatus status, LocalDate createdAt, LocalDate updatedAt,
+                      Integer dayAbsent, String conductRemark, String supervisorName,
+                      String supervisorSignaturePath, LocalDate supervisorDate)
+            implements ClearanceFormView, SupervisorSection {
+    }
+
+    record Hod(UUID id, String corpsName, String stateCode, String department,
+               FormStatus status, LocalDate createdAt, LocalDate updatedAt,
+               String hodRemark, String hodName, String hodSignaturePath, LocalDate hodDate)
+            implements ClearanceFormView, HodSection {
+    }
+
+    record Admin(UUID id, String corpsName, String stateCode, String department,
+                 FormStatus status, LocalDate createdAt, LocalDate updatedAt,
+                 Integer dayAbsent, String conductRemark, String supervisorName,
+                 String supervisorSignaturePath, LocalDate supervisorDate,
+                 String hodRemark, String hodName, String hodSignaturePath, LocalDate hodDate,
+                 String adminName, LocalDate approvalDate, Boolean approved)
+            implements ClearanceFormView, SupervisorSection, HodSection {
+    }
+
+    static Class<? extends ClearanceFormView> forRole(UserRole role) {
+        return switch (role) {
+            case CORPS_MEMBER -> CorpsMember.class;
+            case SUPERVISOR -> Supervisor.class;
+            case HOD -> Hod.class;
+            case ADMIN -> Admin.class;
+        };
+    }
+}
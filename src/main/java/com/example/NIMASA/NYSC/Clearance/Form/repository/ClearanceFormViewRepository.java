@@ -0,0 +1,16 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ClearanceFormViewRepository {
+
+    /**
+     * One keyset page of forms matching the filter, newest first: rows strictly
+     * after (createdAt, id), at most limit of them, selecting only the columns
+     * of the given view
+     */
+    <V extends ClearanceFormView> List<V> findPage(FormFilter filter, Class<V> view,
+                                                   LocalDate createdAt, UUID id, int limit);
+}
@@ -0,0 +1,80 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * ------------------------------------------------------------
+ * Listing pages as per-role projections
+ * ------------------------------------------------------------
+ * The select list is the view record's components, so Hibernate reads only
+ * those columns and builds the records directly: nothing is attached to the
+ * persistence context and there is no dirty-checking snapshot to keep.
+ *
+ * Predicates are added in a fixed order, and only for filters that are set,
+ * so each listing still runs as one index range scan ending in
+ * "(created_at, id) < (cursor) ORDER BY created_at DESC, id DESC".
+ */
+@RequiredArgsConstructor
+public class ClearanceFormViewRepositoryImpl implements ClearanceFormViewRepository {
+
+    private static final ClassValue<String> SELECT = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> view) {
+            return Arrays.stream(view.getRecordComponents())
+                    .map(component -> "f." + component.getName())
+                    .collect(Collectors.joining(", ", "select ", " from ClearanceForm f where "));
+        }
+    };
+
+    private final EntityManager entityManager;
+
+    @Override
+    public <V extends ClearanceFormView> List<V> findPage(FormFilter filter, Class<V> view,
+                                                          LocalDate createdAt, UUID id, int limit) {
+        StringBuilder hql = new StringBuilder(SELECT.get(view));
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (filter.createdFrom() != null) {
+            hql.append("f.createdAt >= :from and f.createdAt < :to and ");
+            params.put("from", filter.createdFrom());
+            params.put("to", filter.createdTo());
+        }
+        if (filter.status() != null) {
+            hql.append("f.status = :status and ");
+            params.put("status", filter.status());
+        }
+        if (filter.department() != null) {
+            hql.append("f.department = :department and ");
+            params.put("department", filter.department());
+        }
+        if (filter.corpsNamePattern() != null) {
+            hql.append("lower(f.corpsName) like lower(:pattern) escape '\\' and ");
+            params.put("pattern", filter.corpsNamePattern());
+        }
+        if (filter.supervisorName() != null) {
+            hql.append("f.supervisorName = :supervisorName and ");
+            params.put("supervisorName", filter.supervisorName());
+        }
+        if (filter.hodName() != null) {
+            hql.append("f.hodName = :hodName and ");
+            params.put("hodName", filter.hodName());
+        }
+        hql.append("(f.createdAt, f.id) < (:createdAt, :id) order by f.createdAt desc, f.id desc");
+        params.put("createdAt", createdAt);
+        params.put("id", id);
+
+        TypedQuery<V> query = entityManager.createQuery(hql.toString(), view);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
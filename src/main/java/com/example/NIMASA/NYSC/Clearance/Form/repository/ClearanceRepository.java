@@ -3,18 +3,16 @@ package com.example.NIMASA.NYSC.Clearance.Form.repository;
 import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
 import com.example.NIMASA.NYSC.Clearance.Form.model.ClearanceForm;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ClearanceRepository extends JpaRepository<ClearanceForm, UUID> {
-
-    List<ClearanceForm> findByStatus(FormStatus status);
-
-    List<ClearanceForm> findByCorpsNameContainingIgnoreCase(String corpsName);
+public interface ClearanceRepository extends JpaRepository<ClearanceForm, UUID>, ClearanceFormViewRepository {
 
     List<ClearanceForm> findBySupervisorName(String supervisorName);
 
@@ -26,15 +24,27 @@ public interface ClearanceRepository extends JpaRepository<ClearanceForm, UUID>
 
     //void deleteByCorpsMemberId(UUID corpsId);
 
-    List<ClearanceForm> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-
     long countByStatus(FormStatus status);
 
-    long countByStatusAndCreatedAtAfter(FormStatus status, LocalDateTime date);
-
-    List<ClearanceForm> findByStatusAndDepartment(FormStatus status, String department);
+    long countByStatusAndCreatedAtAfter(FormStatus status, LocalDate date);
 
     long countByStatusAndDepartment(FormStatus status, String department);
 
     List<ClearanceForm> findByAdminName(String adminName);
+
+    // Case-insensitive, as corps names are typed by hand; lower(corps_name) = ?
+    // can use the trigram index (PostgreSQL 14+), otherwise the status index
+    @Query("SELECT f FROM ClearanceForm f WHERE lower(f.corpsName) = lower(:corpsName) AND f.status = :status")
+    List<ClearanceForm> findByCorpsNameAndStatus(@Param("corpsName") String corpsName,
+                                                 @Param("status") FormStatus status);
+
+    // Dashboard counts in one scan: every FILTER is evaluated on the same pass
+    // (aliases are quoted so they match the FormCounts getters)
+    @Query(value = """
+            SELECT count(*) AS "total",
+                   count(*) FILTER (WHERE status IN ('PENDING_SUPERVISOR', 'PENDING_HOD', 'PENDING_ADMIN')) AS "pending",
+                   count(*) FILTER (WHERE status = 'APPROVED') AS "approved",
+                   count(*) FILTER (WHERE status = 'REJECTED') AS "rejected"
+            FROM clear_formstable""", nativeQuery = true)
+    FormCounts countForDashboard();
 }
@@ -0,0 +1,13 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+/**
+ * Admin dashboard counts over the employees table, computed in one pass
+ */
+public interface EmployeeCounts {
+    long getTotal();
+    long getActive();
+    long getSupervisors();
+    long getHods();
+    long getAdmins();
+    long getExpiredPasswords();
+}
@@ -4,8 +4,13 @@ import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
 import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.time.LocalDate;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,4 +28,26 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
     boolean existsByUsername(String username);
 
     Optional<Employee> findByUsernameIgnoreCaseAndActive(@NotBlank(message = "Name is required") String name, boolean b);
-}
\ No newline at end of file
+
+    // Single-column lookup used to check access-token authorization claims are still current
+    @Query("SELECT e.authzVersion FROM Employee e WHERE LOWER(e.username) = LOWER(:username) AND e.active = true")
+    Optional<Long> findActiveAuthzVersionByUsername(@Param("username") String username);
+
+    // Dashboard counts in one scan: every FILTER is evaluated on the same pass
+    // (aliases are quoted so they match the EmployeeCounts getters)
+    @Query(value = """
+            SELECT count(*) AS "total",
+                   count(*) FILTER (WHERE active) AS "active",
+                   count(*) FILTER (WHERE role = 'SUPERVISOR') AS "supervisors",
+                   count(*) FILTER (WHERE role = 'HOD') AS "hods",
+                   count(*) FILTER (WHERE role = 'ADMIN') AS "admins",
+                   count(*) FILTER (WHERE last_password_change < :expiredBefore) AS "expiredPasswords"
+            FROM employees""", nativeQuery = true)
+    EmployeeCounts countForDashboard(@Param("expiredBefore") LocalDate expiredBefore);
+
+    // Compare-and-set hash upgrade: only applies if the password was not changed meanwhile
+    @Modifying
+    @Transactional
+    @Query("UPDATE Employee e SET e.password = :newHash WHERE e.id = :id AND e.password = :oldHash")
+    int upgradePasswordHash(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+}
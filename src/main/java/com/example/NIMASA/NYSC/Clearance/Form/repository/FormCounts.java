@@ -0,0 +1,11 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+/**
+ * Admin dashboard counts over the clearance forms table, computed in one pass
+ */
+public interface FormCounts {
+    long getTotal();
+    long getPending();
+    long getApproved();
+    long getRejected();
+}
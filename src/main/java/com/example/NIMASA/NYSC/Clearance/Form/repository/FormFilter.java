@@ -0,0 +1,41 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Which forms a listing page covers; null fields are not filtered on.
+ * corpsNamePattern is an already-escaped, case-insensitive LIKE pattern
+ * (backslash escapes % and _), createdFrom/createdTo a half-open date range.
+ */
+public record FormFilter(FormStatus status, String department, String corpsNamePattern,
+                         String supervisorName, String hodName,
+                         LocalDate createdFrom, LocalDate createdTo) {
+
+    public static final FormFilter ALL = new FormFilter(null, null, null, null, null, null, null);
+
+    public FormFilter withStatus(FormStatus status) {
+        return new FormFilter(status, department, corpsNamePattern, supervisorName, hodName, createdFrom, createdTo);
+    }
+
+    public FormFilter withDepartment(String department) {
+        return new FormFilter(status, department, corpsNamePattern, supervisorName, hodName, createdFrom, createdTo);
+    }
+
+    public FormFilter withCorpsNamePattern(String pattern) {
+        return new FormFilter(status, department, pattern, supervisorName, hodName, createdFrom, createdTo);
+    }
+
+    public FormFilter withSupervisorName(String supervisorName) {
+        return new FormFilter(status, department, corpsNamePattern, supervisorName, hodName, createdFrom, createdTo);
+    }
+
+    public FormFilter withHodName(String hodName) {
+        return new FormFilter(status, department, corpsNamePattern, supervisorName, hodName, createdFrom, createdTo);
+    }
+
+    public FormFilter createdBetween(LocalDate from, LocalDate to) {
+        return new FormFilter(status, department, corpsNamePattern, supervisorName, hodName, from, to);
+    }
+}
@@ -55,34 +55,30 @@ import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
-    // Find valid refresh token
-    Optional<RefreshToken> findByTokenAndRevokedFalse(String token);
+    // Find valid refresh token by its 32-byte SHA-256 digest (unique index on token)
+    Optional<RefreshToken> findByTokenAndRevokedFalse(byte[] token);
 
     // Find all tokens for a user (for logout all devices)
     List<RefreshToken> findByEmployeeNameAndRevokedFalse(String employeeName);
 
-    // NEW: Optimized query for fast token lookup by user and family
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.employeeName = :employeeName AND rt.tokenFamily = :tokenFamily AND rt.revoked = false")
-    List<RefreshToken> findByEmployeeNameAndTokenFamilyAndRevokedFalse(@Param("employeeName") String employeeName, @Param("tokenFamily") String tokenFamily);
-
     // Find all tokens in a family (for token rotation security)
     List<RefreshToken> findByTokenFamily(String tokenFamily);
 
-    // Revoke all tokens for a user
+    // Revoke all tokens for a user - returns how many were still active
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.employeeName = :employeeName AND rt.revoked = false")
+    int revokeAllTokensForEmployee(@Param("employeeName") String employeeName);
+
+    // Revoke one token if nobody else did first (rotation compare-and-set)
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.employeeName = :employeeName")
-    void revokeAllTokensForEmployee(@Param("employeeName") String employeeName);
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.id = :id AND rt.revoked = false")
+    int revokeActiveToken(@Param("id") UUID id);
 
     // Revoke all tokens in a family (when one is compromised) - now returns count
     @Modifying
     @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.tokenFamily = :tokenFamily AND rt.revoked = false")
     int revokeTokenFamily(@Param("tokenFamily") String tokenFamily);
 
-    // Clean up expired tokens (scheduled job)
-    @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expirationDate < :now OR rt.revoked = true")
-    void deleteExpiredAndRevokedTokens(@Param("now") LocalDateTime now);
-
     // Count active sessions for a user
     @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.employeeName = :employeeName AND rt.revoked = false AND rt.expirationDate > :now")
     long countActiveSessionsForEmployee(@Param("employeeName") String employeeName, @Param("now") LocalDateTime now);
@@ -0,0 +1,18 @@
+package com.example.NIMASA.NYSC.Clearance.Form.securityModel;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * What controllers need to know about the logged-in employee.
+ * Implemented by the database-backed EmployeePrincipal and by the
+ * lightweight TokenPrincipal built straight from access-token claims.
+ */
+public interface AuthenticatedEmployee extends UserDetails {
+
+    UserRole getRole();
+
+    String getFullName();
+
+    String getDepartment();
+}
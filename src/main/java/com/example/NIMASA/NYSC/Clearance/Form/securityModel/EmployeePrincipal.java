@@ -1,16 +1,16 @@
 package com.example.NIMASA.NYSC.Clearance.Form.securityModel;
 
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
 import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
 
 @RequiredArgsConstructor
-public class EmployeePrincipal implements UserDetails {
+public class EmployeePrincipal implements AuthenticatedEmployee {
     private final Employee employee;
 
     @Override
@@ -52,10 +52,17 @@ public class EmployeePrincipal implements UserDetails {
         return employee;
     }
 
+    @Override
+    public UserRole getRole() {
+        return employee.getRole();
+    }
+
+    @Override
     public String getFullName() {
         return employee.getName();
     }
 
+    @Override
     public String getDepartment() {
         return employee.getDepartment();
     }
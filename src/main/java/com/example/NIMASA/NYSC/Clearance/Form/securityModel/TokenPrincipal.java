@@ -0,0 +1,56 @@
+package com.example.NIMASA.NYSC.Clearance.Form.securityModel;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal built from the authorization claims of a verified access token.
+ * No Employee entity is loaded, so it carries no password.
+ */
+@RequiredArgsConstructor
+public class TokenPrincipal implements AuthenticatedEmployee {
+    private final String username;
+    private final String fullName;
+    private final String department;
+    private final UserRole role;
+
+    public static TokenPrincipal from(VerifiedClaims claims) {
+        VerifiedClaims.Authz authz = claims.authz();
+        return new TokenPrincipal(claims.subject(), authz.name(), authz.department(), authz.role());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singleton(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public UserRole getRole() {
+        return role;
+    }
+
+    @Override
+    public String getFullName() {
+        return fullName;
+    }
+
+    @Override
+    public String getDepartment() {
+        return department;
+    }
+}
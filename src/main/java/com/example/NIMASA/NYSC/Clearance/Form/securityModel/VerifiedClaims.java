@@ -0,0 +1,37 @@
+package com.example.NIMASA.NYSC.Clearance.Form.securityModel;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+
+import java.util.Date;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been checked.
+ * Produced once per request by JwtService.verify so callers never re-parse the token.
+ * authz is only present on access tokens issued with the authorization claim set.
+ */
+public record VerifiedClaims(String subject, String type, String family, Date issuedAt, Date expiration, Authz authz) {
+
+    /**
+     * Compact authorization claim set embedded in access tokens.
+     * authzVersion is the employee's version at issue time; it is bumped
+     * whenever role or department change so stale tokens can be detected.
+     */
+    public record Authz(int schemaVersion, UserRole role, String department, String name, long authzVersion) {
+    }
+
+    public boolean isAccessToken() {
+        return "access".equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, expiration.getTime() - System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.NIMASA.NYSC.Clearance.Form.service;
+
+import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.CorpsMemberRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeCounts;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.FormCounts;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ADMIN DASHBOARD STATS
+ * -------------------------------------------------------------
+ * Counts for the admin dashboard, computed in the database: one aggregate
+ * query per table (employees, corps members, forms), so the cost does not
+ * grow with the number of rows held in memory.
+ *
+ * The result is cached for a short TTL. Form, employee and corps member
+ * writes call invalidate(), so the dashboard reflects them on the next
+ * request; the TTL bounds staleness for writes made on another instance
+ * and for password expiry, which changes with the date alone.
+ */
+@Service
+public class AdminStatsService {
+
+    private static final String KEY = "dashboard";
+
+    private final EmployeeRepository employeeRepository;
+    private final CorpsMemberRepository corpsMemberRepository;
+    private final ClearanceRepository clearanceRepository;
+    private final Cache<String, Map<String, Object>> cache;
+
+    public AdminStatsService(EmployeeRepository employeeRepository,
+                             CorpsMemberRepository corpsMemberRepository,
+                             ClearanceRepository clearanceRepository,
+                             @Value("${admin.stats.ttl-seconds:30}") long ttlSeconds) {
+        this.employeeRepository = employeeRepository;
+        this.corpsMemberRepository = corpsMemberRepository;
+        this.clearanceRepository = clearanceRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(1)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Concurrent requests on a cold cache share a single load
+     */
+    public Map<String, Object> getDashboardStats() {
+        return cache.get(KEY, key -> load());
+    }
+
+    public void invalidate() {
+        cache.invalidate(KEY);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    private Map<String, Object> load() {
+        // Passwords older than 3 months are expired, as at login
+        EmployeeCounts employees = employeeRepository.countForDashboard(LocalDate.now().minusMonths(3));
+        FormCounts forms = clearanceRepository.countForDashboard();
+        long corpsMembers = corpsMemberRepository.count();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCorpsMembers", corpsMembers);
+        stats.put("totalEmployees", employees.getTotal());
+        stats.put("activeEmployees", employees.getActive());
+        stats.put("inactiveEmployees", employees.getTotal() - employees.getActive());
+        stats.put("supervisors", employees.getSupervisors());
+        stats.put("hods", employees.getHods());
+        stats.put("admins", employees.getAdmins());
+        stats.put("employeesWithExpiredPasswords", employees.getExpiredPasswords());
+
+        stats.put("totalForms", forms.getTotal());
+        stats.put("pendingForms", forms.getPending());
+        stats.put("approvedForms", forms.getApproved());
+        stats.put("rejectedForms", forms.getRejected());
+        return Collections.unmodifiableMap(stats);
+    }
+}
@@ -1,23 +1,31 @@
 package com.example.NIMASA.NYSC.Clearance.Form.service;
 
+import com.example.NIMASA.NYSC.Clearance.Form.DTOs.CursorPageResponseDTO;
 import com.example.NIMASA.NYSC.Clearance.Form.DTOs.FormTrackingResponseDTO;
 import com.example.NIMASA.NYSC.Clearance.Form.DTOs.PrintableFormResponseDTO;
 import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
 import com.example.NIMASA.NYSC.Clearance.Form.model.CorpsMember;
 import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceFormView;
 import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceRepository;
 import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
 import com.example.NIMASA.NYSC.Clearance.Form.model.ClearanceForm;
 import com.example.NIMASA.NYSC.Clearance.Form.repository.CorpsMemberRepository;
 import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.FormFilter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +43,7 @@ import java.util.UUID;
  * It also manages signatures (file or initials) and enforces
  * role-based checks at every review step.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ClearanceFormService {
@@ -43,6 +52,14 @@ public class ClearanceFormService {
     private final EmployeeRepository employeeRepository;
     private final SignatureService signatureService;
     private final CorpsMemberRepository corpsMemberRepository;
+    private final AdminStatsService adminStatsService;
+
+    // Listing page sizes; clients can ask for less than max-size, never more
+    @Value("${clearance.forms.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${clearance.forms.page.max-size:100}")
+    private int maxPageSize;
 
     // ============================================================
     // UTILITY → INITIALS GENERATION
@@ -113,7 +130,7 @@ public class ClearanceFormService {
         form.setSupervisorSignaturePath(signatureUrl); // store Cloudinary URL
         form.setStatus(FormStatus.PENDING_HOD);
 
-        return clearanceRepo.save(form);
+        return saveForm(form);
     }
 
     // ============================================================
@@ -160,7 +177,7 @@ public class ClearanceFormService {
         form.setHodSignaturePath(signatureUrl); // store Cloudinary URL
         form.setStatus(FormStatus.PENDING_ADMIN);
 
-        return clearanceRepo.save(form);
+        return saveForm(form);
     }
 
     // ============================================================
@@ -178,6 +195,19 @@ public class ClearanceFormService {
             return Optional.empty();
         }
 
+        return Optional.of(toPrintable(form));
+    }
+
+    /**
+     * All approved forms of one corps member, printable; one query for the lot
+     */
+    public List<PrintableFormResponseDTO> getApprovedPrintableForms(String corpsName) {
+        return clearanceRepo.findByCorpsNameAndStatus(corpsName, FormStatus.APPROVED).stream()
+                .map(this::toPrintable)
+                .toList();
+    }
+
+    private PrintableFormResponseDTO toPrintable(ClearanceForm form) {
         PrintableFormResponseDTO dto = new PrintableFormResponseDTO();
         dto.setFormId(form.getId());
         dto.setCdsDay(form.getCdsDay());
@@ -201,7 +231,7 @@ public class ClearanceFormService {
         dto.setApprovalDate(form.getApprovalDate());
         dto.setStatus(form.getStatus());
 
-        return Optional.of(dto);
+        return dto;
     }
 
     // ============================================================
@@ -212,35 +242,78 @@ public class ClearanceFormService {
         form.setStatus(FormStatus.PENDING_SUPERVISOR);
         form.setCreatedAt(LocalDateTime.now().toLocalDate());
         form.setUpdatedAt(LocalDateTime.now().toLocalDate());
-        return clearanceRepo.save(form);
+        return saveForm(form);
     }
 
     public Optional<ClearanceForm> getFormById(UUID id) {
         return clearanceRepo.findById(id);
     }
 
-    public List<ClearanceForm> getAllForms() {
-        return clearanceRepo.findAll();
+    public CursorPageResponseDTO<ClearanceFormView> getAllForms(UserRole role, String cursor, Integer size) {
+        return page(FormFilter.ALL, role, cursor, size);
     }
 
-    public List<ClearanceForm> getCorpMember(String corpsName) {
-        return clearanceRepo.findByCorpsNameContainingIgnoreCase(corpsName);
+    public CursorPageResponseDTO<ClearanceFormView> getCorpMember(String corpsName, UserRole role,
+                                                                  String cursor, Integer size) {
+        String pattern = "%" + escapeLike(corpsName) + "%";
+        return page(FormFilter.ALL.withCorpsNamePattern(pattern), role, cursor, size);
     }
 
-    public List<ClearanceForm> getSupervisor(String supervisorName) {
-        return clearanceRepo.findBySupervisorName(supervisorName);
+    public CursorPageResponseDTO<ClearanceFormView> getSupervisor(String supervisorName, UserRole role,
+                                                                  String cursor, Integer size) {
+        return page(FormFilter.ALL.withSupervisorName(supervisorName), role, cursor, size);
     }
 
-    public List<ClearanceForm> getByStatus(FormStatus status) {
-        return clearanceRepo.findByStatus(status);
+    public CursorPageResponseDTO<ClearanceFormView> getByStatus(FormStatus status, UserRole role,
+                                                                String cursor, Integer size) {
+        return page(FormFilter.ALL.withStatus(status), role, cursor, size);
     }
 
-    public List<ClearanceForm> getHodName(String hodName) {
-        return clearanceRepo.findByHodName(hodName);
+    public CursorPageResponseDTO<ClearanceFormView> getHodName(String hodName, UserRole role,
+                                                               String cursor, Integer size) {
+        return page(FormFilter.ALL.withHodName(hodName), role, cursor, size);
     }
 
-    public List<ClearanceForm> getFormBetweenDates(LocalDateTime start, LocalDateTime end) {
-        return clearanceRepo.findByCreatedAtBetween(start, end);
+    /**
+     * Fetch one row more than the page size: if it comes back there is a next
+     * page, and the last row shown becomes the cursor. Rows are the caller's
+     * role view, so only the columns that role may see are read.
+     */
+    private CursorPageResponseDTO<ClearanceFormView> page(FormFilter filter, UserRole role,
+                                                          String cursor, Integer size) {
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        FormCursor after = FormCursor.decode(cursor);
+        List<ClearanceFormView> rows = List.copyOf(clearanceRepo.findPage(
+                filter, ClearanceFormView.forRole(role), after.createdAt(), after.id(), pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponseDTO<>(rows, null, false);
+        }
+        List<ClearanceFormView> forms = rows.subList(0, pageSize);
+        String nextCursor = FormCursor.after(forms.get(pageSize - 1)).encode();
+        return new CursorPageResponseDTO<>(forms, nextCursor, true);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Forms created in [from, to), newest first, optionally narrowed to one
+     * status and/or department. Only the filters that are set become
+     * predicates, so the planner always sees a plain range on an index.
+     */
+    public CursorPageResponseDTO<ClearanceFormView> getFormsBetweenDates(LocalDate from, LocalDate to,
+                                                                         FormStatus status, String department,
+                                                                         UserRole role, String cursor, Integer size) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate must not be after endDate");
+        }
+        FormFilter filter = FormFilter.ALL.createdBetween(from, to).withStatus(status);
+        if (department != null && !department.isBlank()) {
+            filter = filter.withDepartment(department);
+        }
+        return page(filter, role, cursor, size);
     }
 
     public long countFormsByStatus(FormStatus status) {
@@ -255,18 +328,25 @@ public class ClearanceFormService {
     // ROLE-BASED PENDING FORMS
     // ============================================================
 
-    public List<ClearanceForm> getPendingFormsForUser(UserRole userRole, String userDepartment) {
+    public CursorPageResponseDTO<ClearanceFormView> getPendingFormsForUser(UserRole userRole, String userDepartment,
+                                                                           String cursor, Integer size) {
+        // Supervisors and HODs only ever see their own department's queue
+        if ((userRole == UserRole.SUPERVISOR || userRole == UserRole.HOD) && userDepartment == null) {
+            return new CursorPageResponseDTO<>(List.of(), null, false);
+        }
         return switch (userRole) {
-            case SUPERVISOR -> clearanceRepo.findByStatusAndDepartment(FormStatus.PENDING_SUPERVISOR, userDepartment);
+            case SUPERVISOR -> page(FormFilter.ALL.withStatus(FormStatus.PENDING_SUPERVISOR)
+                    .withDepartment(userDepartment), userRole, cursor, size);
 
 
-            case HOD -> clearanceRepo.findByStatusAndDepartment(FormStatus.PENDING_HOD, userDepartment);
+            case HOD -> page(FormFilter.ALL.withStatus(FormStatus.PENDING_HOD)
+                    .withDepartment(userDepartment), userRole, cursor, size);
 
 
-            case ADMIN -> clearanceRepo.findByStatus(FormStatus.PENDING_ADMIN);
+            case ADMIN -> getByStatus(FormStatus.PENDING_ADMIN, userRole, cursor, size);
 
 
-            case CORPS_MEMBER -> List.of();
+            case CORPS_MEMBER -> new CursorPageResponseDTO<>(List.of(), null, false);
 
             default -> throw new IllegalArgumentException("Invalid user role: " + userRole);
         };
@@ -360,7 +440,7 @@ public class ClearanceFormService {
         form.setStatus(FormStatus.APPROVED);
         form.setUpdatedAt(LocalDateTime.now().toLocalDate());
 
-        return clearanceRepo.save(form);
+        return saveForm(form);
     }
 
     public ClearanceForm rejectForm(UUID formId, String adminName) {
@@ -373,7 +453,7 @@ public class ClearanceFormService {
         form.setStatus(FormStatus.REJECTED);
         form.setUpdatedAt(LocalDateTime.now().toLocalDate());
 
-        return clearanceRepo.save(form);
+        return saveForm(form);
     }
 
     public void deleteForm(UUID formId, String adminName) throws IOException {
@@ -388,10 +468,17 @@ public class ClearanceFormService {
             signatureService.deleteSignatureFile(extractPublicId(form.getHodSignaturePath()));
         }
 
-        System.out.println("Form with ID " + formId + " deleted by admin: " + adminName +
-                " (Corps Member: " + form.getCorpsName() + ") at " + LocalDateTime.now());
+        log.info("Form with ID {} deleted by admin: {} (Corps Member: {})", formId, adminName, form.getCorpsName());
 
         clearanceRepo.deleteById(formId);
+        adminStatsService.invalidate();
+    }
+
+    // Every form write goes through here so the admin dashboard counts are recomputed
+    private ClearanceForm saveForm(ClearanceForm form) {
+        ClearanceForm saved = clearanceRepo.save(form);
+        adminStatsService.invalidate();
+        return saved;
     }
 
     // Helper to get public_id back from Cloudinary URL
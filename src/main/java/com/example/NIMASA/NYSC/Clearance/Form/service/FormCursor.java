@@ -0,0 +1,57 @@
+package com.example.NIMASA.NYSC.Clearance.Form.service;
+
+import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceFormView;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a form listing ordered by (createdAt DESC, id DESC): the last
+ * row of the previous page. Sent to clients as an opaque URL-safe token
+ * (epoch day + id, 24 bytes), so the next page is a single index range
+ * scan "(created_at, id) < (cursor)" however deep the client pages.
+ */
+public record FormCursor(LocalDate createdAt, UUID id) {
+
+    // Sorts after every real row, so the first page uses the same query
+    static final FormCursor START = new FormCursor(LocalDate.of(9999, 12, 31),
+            new UUID(0xFFFFFFFFFFFFFFFFL, 0xFFFFFFFFFFFFFFFFL));
+
+    private static final int LENGTH = Long.BYTES * 3;
+
+    static FormCursor after(ClearanceFormView form) {
+        return new FormCursor(form.createdAt(), form.id());
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(createdAt.toEpochDay())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Null/blank = first page; anything that is not a cursor we issued is a 400
+     */
+    static FormCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != LENGTH) {
+                throw new IllegalArgumentException("Bad cursor length");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new FormCursor(LocalDate.ofEpochDay(buffer.getLong()),
+                    new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
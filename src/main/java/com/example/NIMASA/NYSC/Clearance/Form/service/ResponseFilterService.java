@@ -5,6 +5,7 @@ package com.example.NIMASA.NYSC.Clearance.Form.service;
 import com.example.NIMASA.NYSC.Clearance.Form.DTOs.FilteredClearanceFormResponseDTO;
 import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
 import com.example.NIMASA.NYSC.Clearance.Form.model.ClearanceForm;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceFormView;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -51,9 +52,46 @@ public class ResponseFilterService {
         return dto;
     }
 
-    public List<FilteredClearanceFormResponseDTO> filterFormsByRole(List<ClearanceForm> forms, UserRole userRole) {
-        return forms.stream()
-                .map(form -> filterFormByRole(form, userRole))
+    // Listing rows were already projected to the role's view in SQL, so the
+    // view type says which sections are present
+    public FilteredClearanceFormResponseDTO toResponse(ClearanceFormView view) {
+        FilteredClearanceFormResponseDTO dto = new FilteredClearanceFormResponseDTO();
+
+        dto.setId(view.id());
+        dto.setCorpsName(view.corpsName());
+        dto.setStateCode(view.stateCode());
+        dto.setDepartment(view.department());
+        dto.setStatus(view.status());
+        dto.setCreatedAt(view.createdAt());
+        dto.setUpdatedAt(view.updatedAt());
+
+        if (view instanceof ClearanceFormView.SupervisorSection supervisor) {
+            dto.setDayAbsent(supervisor.dayAbsent());
+            dto.setConductRemark(supervisor.conductRemark());
+            dto.setSupervisorName(supervisor.supervisorName());
+            dto.setSupervisorSignaturePath(supervisor.supervisorSignaturePath());
+            dto.setSupervisorDate(supervisor.supervisorDate());
+        }
+
+        if (view instanceof ClearanceFormView.HodSection hod) {
+            dto.setHodRemark(hod.hodRemark());
+            dto.setHodName(hod.hodName());
+            dto.setHodSignaturePath(hod.hodSignaturePath());
+            dto.setHodDate(hod.hodDate());
+        }
+
+        if (view instanceof ClearanceFormView.Admin admin) {
+            dto.setAdminName(admin.adminName());
+            dto.setApprovalDate(admin.approvalDate());
+            dto.setApproved(admin.approved());
+        }
+
+        return dto;
+    }
+
+    public List<FilteredClearanceFormResponseDTO> toResponses(List<ClearanceFormView> views) {
+        return views.stream()
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,47 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Corps name search is a case-insensitive substring match on lower(corps_name);
+ * a B-tree cannot serve '%name%', a trigram GIN index can. pg_trgm is a trusted
+ * extension (PostgreSQL 13+); if it cannot be created the search stays a scan.
+ *
+ * Java rather than SQL because the index is optional: SQL could only skip it
+ * inside a DO block, and CREATE INDEX CONCURRENTLY cannot run there. Runs
+ * outside a transaction so the build does not block writes to clear_formstable.
+ */
+@Slf4j
+public class V7__clear_formstable_corps_name_trgm extends BaseJavaMigration {
+
+    private static final String INSUFFICIENT_PRIVILEGE = "42501";
+    private static final String UNDEFINED_FILE = "58P01"; // extension not installed on the server
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            try {
+                statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            } catch (SQLException e) {
+                if (!INSUFFICIENT_PRIVILEGE.equals(e.getSQLState()) && !UNDEFINED_FILE.equals(e.getSQLState())) {
+                    throw e;
+                }
+                log.warn("pg_trgm unavailable, skipping idx_clear_forms_corps_name_trgm: {}", e.getMessage());
+                return;
+            }
+            statement.execute("""
+                    CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_corps_name_trgm
+                        ON clear_formstable USING gin (lower(corps_name) gin_trgm_ops)""");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Refresh tokens are looked up by their SHA-256 digest. Store the raw 32 bytes
+-- instead of the 44-char Base64 text: smaller rows, smaller unique index.
+-- Existing digests are decoded in place so active sessions stay valid.
+-- On a fresh database Hibernate creates the column as bytea and this is a no-op.
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND table_name = 'refresh_tokens'
+          AND column_name = 'token'
+          AND data_type <> 'bytea'
+    ) THEN
+        -- Rows that are not a Base64 SHA-256 digest (legacy formats) can never
+        -- match a lookup, so drop them rather than fail the decode
+        DELETE FROM refresh_tokens WHERE token !~ '^[A-Za-z0-9+/]{43}=$';
+        ALTER TABLE refresh_tokens
+            ALTER COLUMN token TYPE bytea USING decode(token, 'base64');
+    END IF;
+END
+$$;
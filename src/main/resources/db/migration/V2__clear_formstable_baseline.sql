@@ -0,0 +1,26 @@
+-- clear_formstable as Hibernate (ddl-auto=update) creates it, so later
+-- migrations can index it on a fresh database too: Flyway runs before
+-- Hibernate touches the schema. No-op on existing databases.
+CREATE TABLE IF NOT EXISTS clear_formstable (
+    id                        uuid         NOT NULL PRIMARY KEY,
+    corps_name                varchar(255) NOT NULL,
+    state_code                varchar(255) NOT NULL,
+    department                varchar(255) NOT NULL,
+    cds_day                   varchar(255) NOT NULL,
+    day_absent                integer,
+    conduct_remark            varchar(1000),
+    supervisor_name           varchar(255),
+    supervisor_signature_path varchar(255),
+    supervisor_date           date,
+    hod_remark                varchar(1000),
+    hod_name                  varchar(255),
+    hod_signature_path        varchar(255),
+    hod_date                  date,
+    status                    varchar(255) NOT NULL
+        CHECK (status IN ('PENDING_SUPERVISOR', 'PENDING_HOD', 'PENDING_ADMIN', 'APPROVED', 'REJECTED')),
+    created_at                date         NOT NULL,
+    updated_at                date         NOT NULL,
+    admin_name                varchar(255),
+    approval_date             date,
+    approved                  boolean
+);
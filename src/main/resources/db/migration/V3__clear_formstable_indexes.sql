@@ -0,0 +1,41 @@
+-- Secondary indexes for the ClearanceRepository finders. Every index ends
+-- in (created_at, id) where the finder also backs a keyset-paginated
+-- listing, so the filter and the page order come from one range scan.
+-- CONCURRENTLY so form submissions and reviews keep writing while the
+-- indexes build on a populated table; it cannot run in a transaction, see
+-- the .sql.conf file. A failed concurrent build leaves an INVALID index
+-- that IF NOT EXISTS would keep: drop it before re-running.
+-- The optional trigram index for corps name search is created by the Java
+-- migration V7 (db.migration), as plain SQL cannot skip it conditionally
+-- outside a DO block, and a DO block cannot build an index concurrently.
+
+-- All forms, newest first; created_at ranges (date-range search)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_created_id
+    ON clear_formstable (created_at, id);
+
+-- countByStatus / countByStatusAndCreatedAtAfter, /status/{status}, admin pending
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_status_created_id
+    ON clear_formstable (status, created_at, id);
+
+-- Supervisor/HOD pending queues: only pending rows, which stay a small
+-- fraction of the table as forms get approved
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_pending_dept
+    ON clear_formstable (status, department, created_at, id)
+    WHERE status IN ('PENDING_SUPERVISOR', 'PENDING_HOD');
+
+-- Search and tracking by reviewer
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_supervisor
+    ON clear_formstable (supervisor_name, created_at, id)
+    WHERE supervisor_name IS NOT NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_hod
+    ON clear_formstable (hod_name, created_at, id)
+    WHERE hod_name IS NOT NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_admin
+    ON clear_formstable (admin_name)
+    WHERE admin_name IS NOT NULL;
+
+-- Corps member tracking (exact name)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_corps_name
+    ON clear_formstable (corps_name);
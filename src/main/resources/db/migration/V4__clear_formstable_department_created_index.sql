@@ -0,0 +1,8 @@
+-- Date-range search filtered by department: range on created_at within
+-- one department. The unfiltered and status-filtered ranges already use
+-- (created_at, id) and (status, created_at, id) from V3. B-tree rather
+-- than BRIN: the keyset pages need (created_at, id) order, which BRIN
+-- cannot return. CONCURRENTLY, outside a transaction (see the .sql.conf
+-- file), so form writes are not blocked while it builds.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clear_forms_department_created_id
+    ON clear_formstable (department, created_at, id);
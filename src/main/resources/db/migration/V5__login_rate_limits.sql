@@ -0,0 +1,12 @@
+-- Shared login rate-limit counters, used when security.rate-limit.store=postgres.
+-- UNLOGGED: no WAL, so counters are lost on a crash, which is fine for throttling.
+-- Keys (usernames, client IPs) are stored as their 32-byte SHA-256 digest so
+-- a key of any length fits the primary key.
+CREATE UNLOGGED TABLE login_rate_limits (
+    scope        VARCHAR(16) NOT NULL,
+    rl_key       BYTEA       NOT NULL,
+    window_start BIGINT      NOT NULL,
+    failures     INTEGER     NOT NULL,
+    updated_at   BIGINT      NOT NULL,
+    PRIMARY KEY (scope, rl_key)
+);
@@ -0,0 +1,30 @@
+-- refresh_tokens as Hibernate (ddl-auto=update) creates it, so the indexes
+-- below exist on a fresh database too: Flyway runs before Hibernate touches
+-- the schema. ddl-auto=update does not add unique constraints to an existing
+-- table, so the one on token is declared here. No-op on existing databases.
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id              uuid         NOT NULL PRIMARY KEY,
+    token           bytea        NOT NULL,
+    raw_token       varchar(255),
+    employee_name   varchar(255) NOT NULL,
+    expiration_date timestamp(6) NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    revoked         boolean      NOT NULL,
+    device_info     varchar(255),
+    token_family    varchar(255) NOT NULL,
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token)
+);
+
+-- RefreshTokenPurgeJob deletes in two passes, each an index range scan:
+-- expired tokens by expiration_date, revoked tokens through a partial index
+-- holding only revoked rows (a small share of the table between purges).
+-- CONCURRENTLY so logins and refreshes keep writing refresh_tokens while the
+-- indexes build; it cannot run in a transaction, see the .sql.conf file.
+-- A failed concurrent build leaves an INVALID index that IF NOT EXISTS would
+-- keep: drop it before re-running.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_expiration
+    ON refresh_tokens (expiration_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_revoked
+    ON refresh_tokens (expiration_date)
+    WHERE revoked;
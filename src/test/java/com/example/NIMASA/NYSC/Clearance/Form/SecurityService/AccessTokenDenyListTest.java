@@ -0,0 +1,74 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessTokenDenyListTest {
+
+    private final AccessTokenDenyList denyList = new AccessTokenDenyList(JwtServiceTest.jwtService(60_000), 2);
+
+    @Test
+    void deniedFamilyBlocksOnlyThatSession() {
+        denyList.denyFamily("family-1", "ada");
+
+        assertTrue(denyList.isDenied(claims("ada", "family-1", secondsAgo(5))));
+        assertFalse(denyList.isDenied(claims("ada", "family-2", secondsAgo(5))));
+    }
+
+    @Test
+    void familyPushedOutByOverflowIsStillDeniedThroughItsUser() {
+        Date issuedBeforeLogout = secondsAgo(5);
+        denyList.denyFamily("family-1", "Ada");
+        denyList.denyFamily("family-2", "bola");
+        denyList.denyFamily("family-3", "chi");
+
+        // Cap is 2: one family was evicted and its user got a not-before entry instead
+        assertEquals(1L, denyList.stats().get("familyOverflows"));
+        for (String[] session : new String[][]{{"ada", "family-1"}, {"bola", "family-2"}, {"chi", "family-3"}}) {
+            assertTrue(denyList.isDenied(claims(session[0], session[1], issuedBeforeLogout)));
+        }
+        assertFalse(denyList.isDenied(claims("dayo", "family-4", issuedBeforeLogout)));
+    }
+
+    @Test
+    void deniedSubjectBlocksTokensIssuedBeforeButNotAfter() {
+        denyList.denySubject("Ada");
+
+        assertTrue(denyList.isDenied(claims("ada", "family-1", secondsAgo(5))));
+        assertTrue(denyList.isDenied(claims("ADA", "family-2", secondsAgo(1))));
+        // Issued after the logout (a new login)
+        assertFalse(denyList.isDenied(claims("ada", "family-3", secondsAgo(-2))));
+        assertFalse(denyList.isDenied(claims("bola", "family-4", secondsAgo(5))));
+    }
+
+    @Test
+    void laterDenialMovesNotBeforeForwardOnly() {
+        denyList.denySubject("ada");
+        denyList.denySubject("ada");
+
+        assertTrue(denyList.isDenied(claims("ada", "family-1", secondsAgo(1))));
+    }
+
+    @Test
+    void tokensWithoutSubjectOrIssuedAtAreNotDeniedBySubject() {
+        denyList.denySubject("ada");
+
+        assertFalse(denyList.isDenied(new VerifiedClaims("ada", "access", null, null, null, null)));
+        assertFalse(denyList.isDenied(new VerifiedClaims(null, "access", null, secondsAgo(5), null, null)));
+    }
+
+    private static VerifiedClaims claims(String subject, String family, Date issuedAt) {
+        return new VerifiedClaims(subject, "access", family, issuedAt,
+                new Date(System.currentTimeMillis() + 60_000), null);
+    }
+
+    private static Date secondsAgo(long seconds) {
+        return new Date(System.currentTimeMillis() - seconds * 1000);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class AuthzVersionRegistryTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final AuthzVersionRegistry registry = new AuthzVersionRegistry(employeeRepository, 60, 100);
+
+    @Test
+    void onlyTheCurrentVersionIsAccepted() {
+        when(employeeRepository.findActiveAuthzVersionByUsername("ada")).thenReturn(Optional.of(2L));
+
+        assertTrue(registry.isCurrent("Ada", 2));
+        assertFalse(registry.isCurrent("ada", 1));
+        assertFalse(registry.isCurrent("ADA", 3));
+        verify(employeeRepository, times(1)).findActiveAuthzVersionByUsername("ada");
+    }
+
+    @Test
+    void inactiveOrMissingEmployeeIsNeverCurrent() {
+        when(employeeRepository.findActiveAuthzVersionByUsername("gone")).thenReturn(Optional.empty());
+
+        assertFalse(registry.isCurrent("gone", 0));
+        assertFalse(registry.isCurrent("gone", -1));
+    }
+
+    @Test
+    void invalidateReadsTheNewVersion() {
+        when(employeeRepository.findActiveAuthzVersionByUsername("ada"))
+                .thenReturn(Optional.of(0L))
+                .thenReturn(Optional.of(1L));
+
+        assertTrue(registry.isCurrent("ada", 0));
+        registry.invalidate("Ada");
+
+        assertFalse(registry.isCurrent("ada", 0));
+        assertTrue(registry.isCurrent("ada", 1));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final CustomUserDetailsService service = new CustomUserDetailsService(employeeRepository, 300, 100);
+
+    @Test
+    void principalIsLoadedOnceAndSharedAcrossUsernameCase() {
+        when(employeeRepository.findByUsernameIgnoreCaseAndActive(anyString(), eq(true)))
+                .thenReturn(Optional.of(JwtServiceTest.employee("Ada.Obi", UserRole.HOD)));
+
+        UserDetails first = service.loadUserByUsername("Ada.Obi");
+        UserDetails second = service.loadUserByUsername(" ada.obi ");
+
+        assertSame(first, second);
+        verify(employeeRepository, times(1)).findByUsernameIgnoreCaseAndActive(anyString(), eq(true));
+        assertEquals(1L, service.stats().get("hits"));
+    }
+
+    @Test
+    void evictionForcesReload() {
+        when(employeeRepository.findByUsernameIgnoreCaseAndActive(anyString(), eq(true)))
+                .thenReturn(Optional.of(JwtServiceTest.employee("Ada.Obi", UserRole.HOD)))
+                .thenReturn(Optional.of(JwtServiceTest.employee("Ada.Obi", UserRole.ADMIN)));
+
+        service.loadUserByUsername("Ada.Obi");
+        service.evictPrincipal("ADA.OBI");
+        UserDetails reloaded = service.loadUserByUsername("Ada.Obi");
+
+        assertTrue(reloaded.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        verify(employeeRepository, times(2)).findByUsernameIgnoreCaseAndActive(anyString(), eq(true));
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(employeeRepository.findByUsernameIgnoreCaseAndActive(anyString(), eq(true)))
+                .thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        verify(employeeRepository, times(2)).findByUsernameIgnoreCaseAndActive(anyString(), eq(true));
+    }
+}
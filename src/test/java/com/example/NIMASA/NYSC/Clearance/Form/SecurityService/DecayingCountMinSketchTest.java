@@ -0,0 +1,56 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DecayingCountMinSketchTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void equalHashCodeKeysAreCountedIndependently() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        long now = System.currentTimeMillis();
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, WINDOW);
+
+        for (int i = 0; i < 5; i++) {
+            sketch.add("Aa", now);
+        }
+        sketch.add("BB", now);
+
+        assertEquals(5, sketch.estimate("Aa", now));
+        assertEquals(1, sketch.estimate("BB", now));
+        assertEquals(0, sketch.estimate("AaAa", now));
+        assertEquals(0, sketch.estimate("BBBB", now));
+    }
+
+    @Test
+    void previousWindowDecaysAsTheWindowSlides() {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, WINDOW);
+        long now = System.currentTimeMillis();
+        long start = now + sketch.millisUntilRotation(now) - WINDOW;
+        for (int i = 0; i < 10; i++) {
+            sketch.add("10.0.0.1", start);
+        }
+
+        assertEquals(10, sketch.estimate("10.0.0.1", start + WINDOW - 1));
+        assertEquals(5, sketch.estimate("10.0.0.1", start + WINDOW + WINDOW / 2));
+        assertEquals(0, sketch.estimate("10.0.0.1", start + 2 * WINDOW));
+    }
+
+    @Test
+    void murmur3MatchesReferenceVectors() {
+        assertEquals(0, DecayingCountMinSketch.murmur3(new byte[0], 0));
+        assertEquals(0x514E28B7, DecayingCountMinSketch.murmur3(new byte[0], 1));
+        assertEquals(0x5A97808A, DecayingCountMinSketch.murmur3(bytes("aaaa"), 0x9747b28c));
+        assertEquals(0xB3DD93FA, DecayingCountMinSketch.murmur3(bytes("abc"), 0));
+        assertEquals(0x2E4FF723, DecayingCountMinSketch.murmur3(bytes("The quick brown fox jumps over the lazy dog"), 0));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCacheTest {
+
+    private final EmployeeCache cache = new EmployeeCache(300, 100);
+
+    @Test
+    void lookupIgnoresUsernameCaseAndSpaces() {
+        Employee employee = JwtServiceTest.employee("Ada.Obi", UserRole.SUPERVISOR);
+        cache.put(employee);
+
+        assertSame(employee, cache.get("ada.obi"));
+        assertSame(employee, cache.get(" ADA.OBI "));
+        assertNull(cache.get("bola"));
+        assertNull(cache.get(null));
+
+        assertEquals(2L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void invalidateDropsTheEntry() {
+        cache.put(JwtServiceTest.employee("Ada.Obi", UserRole.SUPERVISOR));
+
+        cache.invalidate("ADA.obi");
+        cache.invalidate(null);
+
+        assertNull(cache.get("Ada.Obi"));
+    }
+
+    @Test
+    void putReplacesTheCachedEmployee() {
+        cache.put(JwtServiceTest.employee("Ada.Obi", UserRole.SUPERVISOR));
+        cache.put(JwtServiceTest.employee("ada.obi", UserRole.HOD));
+
+        assertEquals(UserRole.HOD, cache.get("Ada.Obi").getRole());
+        assertEquals(1L, cache.stats().get("size"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RateLimitStore.Scope;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryRateLimitStoreTest {
+
+    static final long MINUTE = 60_000;
+    static final long WINDOW = 15 * MINUTE;
+
+    static InMemoryRateLimitStore store(int maxTrackedKeys) {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        ReflectionTestUtils.setField(store, "maxLoginAttempts", 5);
+        ReflectionTestUtils.setField(store, "timeWindowMinutes", 15);
+        ReflectionTestUtils.setField(store, "maxTrackedKeys", maxTrackedKeys);
+        ReflectionTestUtils.setField(store, "ipSketchDepth", 4);
+        ReflectionTestUtils.setField(store, "ipSketchWidth", 1024);
+        store.init();
+        return store;
+    }
+
+    private final InMemoryRateLimitStore store = store(100);
+
+    @Test
+    void attemptsLeaveTheWindowAsItSlides() {
+        long t0 = 1_000_000_000L;
+        fail("ada", t0);
+        fail("ada", t0 + 5 * MINUTE);
+        fail("ada", t0 + 10 * MINUTE);
+
+        assertEquals(3, store.getFailures(Scope.USERNAME, "ada", t0 + 10 * MINUTE));
+        assertEquals(3, store.getFailures(Scope.USERNAME, "ada", t0 + WINDOW - 1));
+        assertEquals(2, store.getFailures(Scope.USERNAME, "ada", t0 + WINDOW + 1));
+        assertEquals(1, store.getFailures(Scope.USERNAME, "ada", t0 + 5 * MINUTE + WINDOW + 1));
+        assertEquals(0, store.getFailures(Scope.USERNAME, "ada", t0 + 10 * MINUTE + WINDOW + 1));
+    }
+
+    @Test
+    void ringKeepsOnlyTheLastMaxAttempts() {
+        long t0 = 1_000_000_000L;
+        for (int i = 0; i < 8; i++) {
+            fail("ada", t0 + i * MINUTE);
+        }
+        long now = t0 + 7 * MINUTE;
+
+        assertEquals(5, store.getFailures(Scope.USERNAME, "ada", now));
+        // Oldest kept attempt is the 4th (t0 + 3 min); the first three were overwritten
+        assertEquals(3 * MINUTE + WINDOW - 7 * MINUTE, store.getRetryAfterMillis(Scope.USERNAME, "ada", 5, now));
+        assertEquals(0, store.getRetryAfterMillis(Scope.USERNAME, "ada", 6, now));
+    }
+
+    @Test
+    void resetAndSweepDropRecords() {
+        long t0 = 1_000_000_000L;
+        fail("ada", t0);
+        fail("bola", t0 + 10 * MINUTE);
+
+        store.reset(Scope.USERNAME, "ada");
+        assertEquals(0, store.getFailures(Scope.USERNAME, "ada", t0));
+
+        fail("ada", t0);
+        store.sweep(t0 + WINDOW + 1);
+        assertEquals(1, store.stats().get("trackedUsernames"));
+        assertEquals(1, store.getFailures(Scope.USERNAME, "bola", t0 + WINDOW + 1));
+    }
+
+    @Test
+    void fullMapEvictsInsteadOfGrowing() {
+        InMemoryRateLimitStore capped = store(4);
+        for (int i = 0; i < 50; i++) {
+            capped.recordFailures(Map.of(Scope.USERNAME, "user" + i), 1_000_000_000L + i);
+        }
+
+        assertEquals(4, capped.stats().get("trackedUsernames"));
+        assertEquals(1, capped.getFailures(Scope.USERNAME, "user49", 1_000_000_049L));
+    }
+
+    private void fail(String username, long at) {
+        store.recordFailures(Map.of(Scope.USERNAME, username), at);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cost of authenticating one request's access token: the old JwtService,
+ * which decoded the secret, built a parser and parsed the token again for
+ * each claim read by the filter (username, then type, username and
+ * expiration in validateAccessToken), vs one verify() with the parser built
+ * at startup.
+ *
+ * Not part of the normal build:
+ *   mvn test -Dtest=JwtParseBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtParseBenchmark {
+
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    @Test
+    void parsePerClaimVsVerifyOnce() {
+        JwtService jwtService = JwtServiceTest.jwtService(60_000);
+        String token = jwtService.generateAccessToken(JwtServiceTest.employee("ada", UserRole.HOD), "family-1");
+
+        double oldOps = measure(token, JwtParseBenchmark::parsePerClaim);
+        double newOps = measure(token, t -> {
+            VerifiedClaims claims = jwtService.verify(t);
+            return claims.isAccessToken() && !claims.isExpired() ? claims.subject().length() : 0;
+        });
+
+        System.out.printf("access token check: parse per claim %.0f ops/s, verify once %.0f ops/s (%.1fx)%n",
+                oldOps, newOps, newOps / oldOps);
+        assertTrue(oldOps > 0 && newOps > 0);
+    }
+
+    // The pre-change extractClaim: key decode + parser build + parse on every call
+    private static <T> T extractClaim(String token, Function<Claims, T> resolver) {
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtServiceTest.SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return resolver.apply(claims);
+    }
+
+    private static long parsePerClaim(String token) {
+        String username = extractClaim(token, Claims::getSubject);
+        String type = extractClaim(token, claims -> claims.get("type", String.class));
+        boolean sameUser = username.equals(extractClaim(token, Claims::getSubject));
+        boolean expired = extractClaim(token, Claims::getExpiration).before(new Date());
+        return "access".equals(type) && sameUser && !expired ? username.length() : 0;
+    }
+
+    private static double measure(String token, ToLongFunction<String> check) {
+        run(token, check, WARMUP_MILLIS);
+        return run(token, check, MEASURE_MILLIS) * 1000.0 / MEASURE_MILLIS;
+    }
+
+    private static long run(String token, ToLongFunction<String> check, long millis) {
+        long completed = 0;
+        long sink = 0;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < deadline) {
+            sink += check.applyAsLong(token);
+            completed++;
+        }
+        assertTrue(sink > 0);
+        return completed;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtMDEyMzQ1Njc4OWFiY2RlZg==";
+
+    static JwtService jwtService(long accessTokenExpirationMs) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "accessTokenExpirationMs", accessTokenExpirationMs);
+        ReflectionTestUtils.setField(service, "refreshTokenExpirationMs", 60_000L);
+        service.init();
+        return service;
+    }
+
+    static Employee employee(String username, UserRole role) {
+        Employee employee = new Employee();
+        employee.setUsername(username);
+        employee.setName("Ada Obi");
+        employee.setDepartment("ICT");
+        employee.setRole(role);
+        employee.setAuthzVersion(3);
+        return employee;
+    }
+
+    private final JwtService jwtService = jwtService(60_000);
+
+    @Test
+    void verifyReadsEveryAccessTokenClaimFromOneParse() {
+        String token = jwtService.generateAccessToken(employee("ada", UserRole.HOD), "family-1");
+
+        VerifiedClaims claims = jwtService.verify(token);
+
+        assertEquals("ada", claims.subject());
+        assertTrue(claims.isAccessToken());
+        assertEquals("family-1", claims.family());
+        assertFalse(claims.isExpired());
+        assertTrue(claims.remainingMillis() > 0 && claims.remainingMillis() <= 60_000);
+        assertEquals(new VerifiedClaims.Authz(1, UserRole.HOD, "ICT", "Ada Obi", 3), claims.authz());
+    }
+
+    @Test
+    void refreshTokenHasNoAuthz() {
+        VerifiedClaims claims = jwtService.verify(jwtService.generateRefreshToken("ada", "family-1"));
+
+        assertTrue(claims.isRefreshToken());
+        assertEquals("family-1", claims.family());
+        assertNull(claims.authz());
+        assertTrue(jwtService.validateRefreshTokenStructure(jwtService.generateRefreshToken("ada", "family-1")));
+    }
+
+    @Test
+    void refreshTokensIssuedTogetherDiffer() {
+        assertNotEquals(jwtService.generateRefreshToken("ada", "family-1"),
+                jwtService.generateRefreshToken("ada", "family-1"));
+    }
+
+    @Test
+    void unknownAuthzSchemaVersionIsIgnored() {
+        String token = Jwts.builder()
+                .subject("ada")
+                .claim("type", "access")
+                .claim("authz", Map.of("v", 2, "r", "ADMIN", "d", "ICT", "n", "Ada Obi", "av", 3))
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+
+        VerifiedClaims claims = jwtService.verify(token);
+
+        assertEquals("ada", claims.subject());
+        assertNull(claims.authz());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtService other = new JwtService();
+        ReflectionTestUtils.setField(other, "secretKey", "b3RoZXIta2V5LWZvci10ZXN0cy0wMTIzNDU2Nzg5YWJjZGVmZ2g=");
+        ReflectionTestUtils.setField(other, "accessTokenExpirationMs", 60_000L);
+        other.init();
+        String token = other.generateAccessToken(employee("ada", UserRole.HOD), "family-1");
+
+        assertThrows(JwtException.class, () -> jwtService.verify(token));
+        assertFalse(jwtService.validateAccessToken(token, user("ada")));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = jwtService(-1_000).generateAccessToken(employee("ada", UserRole.HOD), "family-1");
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+        assertFalse(jwtService.validateAccessToken(token, user("ada")));
+        assertEquals(0, jwtService.getTokenRemainingTimeMinutes(token));
+    }
+
+    @Test
+    void verifiedClaimsAreValidatedWithoutReparsing() {
+        VerifiedClaims access = jwtService.verify(jwtService.generateAccessToken(employee("ada", UserRole.HOD), "f"));
+        VerifiedClaims refresh = jwtService.verify(jwtService.generateRefreshToken("ada", "f"));
+
+        assertTrue(jwtService.validateAccessToken(access, user("ada")));
+        assertFalse(jwtService.validateAccessToken(access, user("bola")));
+        assertFalse(jwtService.validateAccessToken(refresh, user("ada")));
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("x").authorities("ROLE_HOD").build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashPolicyTest {
+
+    // cost pinned to 12, so nothing is calibrated
+    private final PasswordHashPolicy policy = new PasswordHashPolicy(12, 10, 150);
+
+    private static final String SALT_AND_HASH = "$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Test
+    void lowerCostIsOutOfPolicy() {
+        assertEquals(12, policy.getCost());
+        assertTrue(policy.isOutOfPolicy("$2a$10" + SALT_AND_HASH));
+        assertTrue(policy.isOutOfPolicy("$2b$11" + SALT_AND_HASH));
+    }
+
+    @Test
+    void equalCostIsInPolicy() {
+        assertFalse(policy.isOutOfPolicy("$2a$12" + SALT_AND_HASH));
+    }
+
+    @Test
+    void higherCostIsKept() {
+        assertFalse(policy.isOutOfPolicy("$2a$13" + SALT_AND_HASH));
+        assertFalse(policy.isOutOfPolicy("$2y$16" + SALT_AND_HASH));
+    }
+
+    @Test
+    void nonBcryptValuesAreIgnored() {
+        assertFalse(policy.isOutOfPolicy(null));
+        assertFalse(policy.isOutOfPolicy("plaintext"));
+        assertFalse(policy.isOutOfPolicy("$2a$xx" + SALT_AND_HASH));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final AtomicInteger hashes = new AtomicInteger();
+    private final BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+
+    // One thread, one queue slot, 200 ms wait
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(encoder, 1, 1, 200);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void matchesRunsOnThePool() {
+        when(encoder.matches("secret", "hash")).thenReturn(true);
+
+        assertTrue(executor.matches("secret", "hash"));
+        assertEquals(1L, executor.stats().get("completed"));
+    }
+
+    @Test
+    void timedOutQueuedHashIsRemovedAndNeverRuns() throws Exception {
+        when(encoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            hashes.incrementAndGet();
+            return true;
+        });
+        blockPoolThread();
+
+        assertThrows(HashingCapacityExceededException.class, () -> executor.matches("queued", "hash"));
+
+        assertEquals(0, executor.stats().get("queueDepth"));
+        assertEquals(1L, executor.stats().get("timedOut"));
+        release.countDown();
+        assertTrue(executor.tryExecute(() -> { }));
+        Thread.sleep(100);
+        assertEquals(0, hashes.get());
+    }
+
+    @Test
+    void fullQueueFailsFastWithRetryAfter() throws Exception {
+        blockPoolThread();
+        assertTrue(executor.tryExecute(() -> { }));
+        assertFalse(executor.tryExecute(() -> { }));
+
+        HashingCapacityExceededException e = assertThrows(HashingCapacityExceededException.class,
+                () -> executor.matches("overflow", "hash"));
+
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+        assertEquals(1L, executor.stats().get("rejected"));
+    }
+
+    /**
+     * Occupy the single pool thread until release, like a BCrypt call nobody can interrupt
+     */
+    private void blockPoolThread() throws InterruptedException {
+        assertTrue(executor.tryExecute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+}
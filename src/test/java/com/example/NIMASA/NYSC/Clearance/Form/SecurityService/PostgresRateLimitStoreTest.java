@@ -0,0 +1,94 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RateLimitStore.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PostgresRateLimitStore against the login_rate_limits table created by the
+ * Flyway migrations. The near-cache TTL is zero so every read goes to the table.
+ *
+ * Needs Docker; skipped when it is not available.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresRateLimitStoreTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final long MINUTE = 60_000;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private PostgresRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM login_rate_limits");
+        store = new PostgresRateLimitStore(jdbc, 0, 100);
+        ReflectionTestUtils.setField(store, "timeWindowMinutes", 15);
+    }
+
+    @Test
+    void overLongUsernameIsCountedNotRejected() {
+        String username = "u".repeat(5_000);
+        long now = System.currentTimeMillis();
+
+        store.recordFailures(keys("10.0.0.1", username), now);
+        store.recordFailures(keys("10.0.0.1", username), now + 1);
+
+        assertEquals(2, store.getFailures(Scope.USERNAME, username, now + 2));
+        assertEquals(2, store.getFailures(Scope.IP, "10.0.0.1", now + 2));
+        assertEquals(32, jdbc.queryForObject("SELECT max(length(rl_key)) FROM login_rate_limits", Integer.class));
+    }
+
+    @Test
+    void windowRestartsAfterItExpires() {
+        long t0 = System.currentTimeMillis();
+        store.recordFailures(keys("10.0.0.1", "ada"), t0);
+        store.recordFailures(keys("10.0.0.1", "ada"), t0 + MINUTE);
+
+        assertEquals(2, store.getFailures(Scope.USERNAME, "ada", t0 + 2 * MINUTE));
+        assertEquals(0, store.getFailures(Scope.USERNAME, "ada", t0 + 15 * MINUTE));
+
+        store.recordFailures(keys("10.0.0.1", "ada"), t0 + 16 * MINUTE);
+        assertEquals(1, store.getFailures(Scope.USERNAME, "ada", t0 + 16 * MINUTE));
+    }
+
+    @Test
+    void flushedResetDeletesTheRow() {
+        long now = System.currentTimeMillis();
+        store.recordFailures(keys("10.0.0.1", "ada"), now - 1);
+
+        store.reset(Scope.USERNAME, "ada");
+        store.flushResets();
+
+        assertEquals(0, store.getFailures(Scope.USERNAME, "ada", now));
+        assertEquals(1, jdbc.queryForObject("SELECT count(*) FROM login_rate_limits", Integer.class));
+    }
+
+    private static Map<Scope, String> keys(String ip, String username) {
+        Map<Scope, String> keys = new EnumMap<>(Scope.class);
+        keys.put(Scope.IP, ip);
+        keys.put(Scope.USERNAME, username);
+        return keys;
+    }
+}
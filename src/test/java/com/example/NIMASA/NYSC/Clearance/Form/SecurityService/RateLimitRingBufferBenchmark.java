@@ -0,0 +1,120 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RateLimitStore.Scope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Per-username failed-login tracking: the old per-key record (a
+ * ConcurrentHashMap of LocalDateTime attempts, cleaned up with removeIf on
+ * every check) vs the ring buffer in InMemoryRateLimitStore. Each operation
+ * is a login check followed by a recorded failure when allowed, spread over
+ * 10,000 usernames; reports throughput and bytes allocated per operation.
+ *
+ * Not part of the normal build:
+ *   mvn test -Dtest=RateLimitRingBufferBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RateLimitRingBufferBenchmark {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int USERNAMES = 10_000;
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    @Test
+    void perKeyMapVsRingBuffer() {
+        String[] usernames = new String[USERNAMES];
+        for (int i = 0; i < USERNAMES; i++) {
+            usernames[i] = "Employee." + i;
+        }
+
+        LegacyLimiter legacy = new LegacyLimiter();
+        double[] oldResult = measure(usernames, username -> {
+            if (legacy.isLoginAllowed(username)) {
+                legacy.recordFailedLogin(username);
+                return true;
+            }
+            return false;
+        });
+
+        InMemoryRateLimitStore store = InMemoryRateLimitStoreTest.store(100_000);
+        double[] newResult = measure(usernames, username -> {
+            long now = System.currentTimeMillis();
+            if (store.getFailures(Scope.USERNAME, username, now) < MAX_ATTEMPTS) {
+                store.recordFailures(Map.of(Scope.USERNAME, username), now);
+                return true;
+            }
+            return false;
+        });
+
+        System.out.printf("username limiter: per-key map %.0f ops/s (%.0f B/op), ring buffer %.0f ops/s (%.0f B/op)%n",
+                oldResult[0], oldResult[1], newResult[0], newResult[1]);
+        assertTrue(oldResult[0] > 0 && newResult[0] > 0);
+    }
+
+    /**
+     * {ops/s, allocated bytes/op}
+     */
+    private static double[] measure(String[] usernames, Predicate<String> attempt) {
+        run(usernames, attempt, WARMUP_MILLIS);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long ops = run(usernames, attempt, MEASURE_MILLIS);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new double[]{ops * 1000.0 / MEASURE_MILLIS, (double) allocated / ops};
+    }
+
+    private static long run(String[] usernames, Predicate<String> attempt, long millis) {
+        long completed = 0;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < deadline) {
+            attempt.test(usernames[(int) (completed % usernames.length)]);
+            completed++;
+        }
+        return completed;
+    }
+
+    // The pre-ring-buffer RateLimitService bookkeeping, as it was
+    private static class LegacyLimiter {
+        private final Map<String, LegacyRecord> loginAttempts = new ConcurrentHashMap<>();
+
+        boolean isLoginAllowed(String key) {
+            LegacyRecord record = loginAttempts.get(key);
+            if (record == null) {
+                return true;
+            }
+            record.removeOldAttempts(LocalDateTime.now().minus(15, ChronoUnit.MINUTES));
+            return record.attempts.size() < MAX_ATTEMPTS;
+        }
+
+        void recordFailedLogin(String key) {
+            loginAttempts.computeIfAbsent(key, k -> new LegacyRecord()).addFailedAttempt();
+        }
+    }
+
+    private static class LegacyRecord {
+        private final ConcurrentHashMap<LocalDateTime, Boolean> attempts = new ConcurrentHashMap<>();
+        private volatile LocalDateTime lastAttemptTime = LocalDateTime.now();
+
+        void addFailedAttempt() {
+            LocalDateTime now = LocalDateTime.now();
+            attempts.put(now, Boolean.FALSE);
+            lastAttemptTime = now;
+        }
+
+        void removeOldAttempts(LocalDateTime cutoffTime) {
+            attempts.entrySet().removeIf(entry -> entry.getKey().isBefore(cutoffTime));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.RefreshCoordinator.RefreshedTokens;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshCoordinatorTest {
+
+    private static final int TABS = 8;
+
+    private final JwtService jwtService = JwtServiceTest.jwtService(60_000);
+    private final String refreshToken = jwtService.generateRefreshToken("ada", "family-1");
+    private final AtomicInteger rotations = new AtomicInteger();
+
+    private final Supplier<RefreshedTokens> rotation = () -> new RefreshedTokens("ada", UserRole.HOD, "family-1",
+            "access-" + rotations.incrementAndGet(), "refresh-" + rotations.get());
+
+    @Test
+    void concurrentRefreshesOfOneFamilyShareOneRotation() throws Exception {
+        RefreshCoordinator coordinator = new RefreshCoordinator(jwtService, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<RefreshedTokens> slowRotation = () -> {
+            await(release);
+            return rotation.get();
+        };
+
+        List<Future<RefreshedTokens>> results = new ArrayList<>();
+        try (ExecutorService tabs = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < TABS; i++) {
+                results.add(tabs.submit(() -> coordinator.refresh(refreshToken, slowRotation)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((long) coordinator.stats().get("coalesced") < TABS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+        }
+
+        assertEquals(1, rotations.get());
+        for (Future<RefreshedTokens> result : results) {
+            assertEquals("refresh-1", result.get().refreshToken());
+        }
+        assertEquals(0, coordinator.stats().get("inFlight"));
+    }
+
+    @Test
+    void oldTokenInsideTheGraceWindowGetsTheSamePair() {
+        RefreshCoordinator coordinator = new RefreshCoordinator(jwtService, 10);
+
+        RefreshedTokens first = coordinator.refresh(refreshToken, rotation);
+        RefreshedTokens retry = coordinator.refresh(refreshToken, rotation);
+
+        assertSame(first, retry);
+        assertEquals(1, rotations.get());
+        assertEquals(1L, coordinator.stats().get("graceHits"));
+    }
+
+    @Test
+    void noGraceWindowWhenDisabled() {
+        RefreshCoordinator coordinator = new RefreshCoordinator(jwtService, 0);
+
+        coordinator.refresh(refreshToken, rotation);
+        coordinator.refresh(refreshToken, rotation);
+
+        assertEquals(2, rotations.get());
+    }
+
+    @Test
+    void revokedFamilyOrSubjectIsNotServedFromTheGraceWindow() {
+        RefreshCoordinator coordinator = new RefreshCoordinator(jwtService, 10);
+
+        coordinator.refresh(refreshToken, rotation);
+        coordinator.evictFamily("family-1");
+        coordinator.refresh(refreshToken, rotation);
+        coordinator.evictSubject("ADA");
+        coordinator.refresh(refreshToken, rotation);
+
+        assertEquals(3, rotations.get());
+    }
+
+    @Test
+    void failedRotationIsNotCached() {
+        RefreshCoordinator coordinator = new RefreshCoordinator(jwtService, 10);
+
+        assertThrows(IllegalStateException.class, () -> coordinator.refresh(refreshToken, () -> {
+            throw new IllegalStateException("Invalid refresh token");
+        }));
+        coordinator.refresh(refreshToken, rotation);
+
+        assertEquals(1, rotations.get());
+        assertEquals(0, coordinator.stats().get("inFlight"));
+    }
+
+    @Test
+    void unverifiableTokenGoesStraightToRotation() {
+        RefreshCoordinator coordinator = new RefreshCoordinator(jwtService, 10);
+
+        coordinator.refresh("not-a-jwt", rotation);
+
+        assertEquals(1, rotations.get());
+        assertEquals(0L, coordinator.stats().get("graceEntries"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
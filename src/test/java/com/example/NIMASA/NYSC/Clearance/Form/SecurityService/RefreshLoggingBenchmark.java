@@ -0,0 +1,139 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.example.NIMASA.NYSC.Clearance.Form.config.LogSamplingFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of the /refresh path's logging: the old four System.out
+ * lines per request vs SLF4J through the async appender with sampling
+ * (the logback-spring.xml setup). Each simulated request does the
+ * refresh's CPU work (hash the token) plus its log calls, on virtual
+ * threads like the real server. Output goes to temp files so the
+ * comparison is the lock and I/O, not the terminal.
+ *
+ * Not part of the normal build:
+ *   mvn test -Dtest=RefreshLoggingBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RefreshLoggingBenchmark {
+
+    private static final int CONCURRENCY = 200;
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    // Same shape/length as a real refresh JWT
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9." + "x".repeat(260) + ".sig0123456789abcdefghijklmnopqrstuvwxyzABCD";
+
+    @Test
+    void refreshThroughputWithOldAndNewLogging() throws Exception {
+        Path stdoutFile = Files.createTempFile("refresh-stdout", ".log");
+        Path logFile = Files.createTempFile("refresh-logback", ".log");
+
+        double oldOps;
+        try (PrintStream out = new PrintStream(new FileOutputStream(stdoutFile.toFile()), true)) {
+            oldOps = measure(username -> {
+                out.println("🔄 Refresh token request received");
+                out.println("✅ Refresh token found in cookie");
+                out.println(" Token validated for username: " + username);
+                out.println(" Tokens refreshed successfully");
+            });
+        }
+
+        LoggerContext context = asyncSampledContext(logFile);
+        org.slf4j.Logger log = context.getLogger(UnifiedAuthService.class);
+        double newOps;
+        try {
+            newOps = measure(username -> log.debug("Tokens refreshed for {}", username));
+        } finally {
+            context.stop();
+        }
+
+        System.out.printf("refresh logging: System.out %.0f ops/s, async+sampled SLF4J %.0f ops/s (%.1fx)%n",
+                oldOps, newOps, newOps / oldOps);
+        assertTrue(oldOps > 0 && newOps > 0);
+
+        Files.deleteIfExists(stdoutFile);
+        Files.deleteIfExists(logFile);
+    }
+
+    private double measure(Consumer<String> logging) throws InterruptedException {
+        run(logging, WARMUP_MILLIS);
+        return run(logging, MEASURE_MILLIS) * 1000.0 / MEASURE_MILLIS;
+    }
+
+    private long run(Consumer<String> logging, long millis) throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                String username = "Employee." + i;
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        TokenHasher.sha256(TOKEN);
+                        logging.accept(username);
+                        completed.increment();
+                    }
+                });
+            }
+        }
+        return completed.sum();
+    }
+
+    /**
+     * Programmatic copy of logback-spring.xml (async appender, 1-in-100 sampling) writing to a file
+     */
+    private LoggerContext asyncSampledContext(Path logFile) throws IOException {
+        LoggerContext context = new LoggerContext();
+
+        LogSamplingFilter sampling = new LogSamplingFilter();
+        sampling.setLoggers("com.example.NIMASA.NYSC.Clearance.Form.SecurityService");
+        sampling.setOneIn(100);
+        sampling.setContext(context);
+        sampling.start();
+        context.addTurboFilter(sampling);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5p [%X{requestId:-}] %logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(file);
+        async.start();
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.DEBUG);
+        root.addAppender(async);
+        return context;
+    }
+}
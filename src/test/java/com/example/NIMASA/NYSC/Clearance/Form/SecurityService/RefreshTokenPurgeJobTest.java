@@ -0,0 +1,118 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RefreshTokenPurgeJob against the schema built by the Flyway migrations:
+ * both delete passes must be index range scans (enable_seqscan=off makes
+ * the planner use an index whenever one can answer the query) and a run
+ * must remove exactly the expired and revoked rows.
+ *
+ * Needs Docker; skipped when it is not available.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the job uses its own connection
+@Testcontainers(disabledWithoutDocker = true)
+class RefreshTokenPurgeJobTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("DELETE FROM refresh_tokens");
+        // 3,000 live, 2,500 expired, 1,500 revoked but not yet expired
+        jdbc.update("""
+                INSERT INTO refresh_tokens (id, token, employee_name, expiration_date, created_at, revoked, token_family)
+                SELECT gen_random_uuid(), sha256(i::text::bytea), 'Employee.' || (i % 50),
+                       CASE WHEN i <= 2500 THEN now() - interval '1 day' ELSE now() + interval '7 days' END,
+                       now(), i > 5500, 'family-' || i
+                FROM generate_series(1, 7000) AS i""");
+        jdbc.execute("ANALYZE refresh_tokens");
+    }
+
+    @Test
+    void bothPassesUseAnIndex() {
+        String revoked = (String) ReflectionTestUtils.getField(RefreshTokenPurgeJob.class, "DELETE_REVOKED_BATCH");
+        String expired = (String) ReflectionTestUtils.getField(RefreshTokenPurgeJob.class, "DELETE_EXPIRED_BATCH");
+
+        assertIndexScan(explain(revoked, 1000), "idx_refresh_tokens_revoked");
+        assertIndexScan(explain(expired, Timestamp.valueOf(LocalDateTime.now()), 1000), "idx_refresh_tokens_expiration");
+    }
+
+    @Test
+    void purgeRemovesExpiredAndRevokedRowsInBatches() {
+        RefreshTokenPurgeJob job = new RefreshTokenPurgeJob(dataSource);
+        ReflectionTestUtils.setField(job, "batchSize", 1000);
+        ReflectionTestUtils.setField(job, "pauseMs", 0L);
+        ReflectionTestUtils.setField(job, "timeBudgetMs", 30_000L);
+
+        job.purge();
+
+        assertEquals(3000, jdbc.queryForObject("SELECT count(*) FROM refresh_tokens", Integer.class));
+        assertEquals(0, jdbc.queryForObject(
+                "SELECT count(*) FROM refresh_tokens WHERE revoked OR expiration_date < now()", Integer.class));
+        assertEquals(4000L, job.stats().get("lastRunDeleted"));
+        // revoked: 1000 + 500; expired: 1000 + 1000 + 500
+        assertEquals(5L, job.stats().get("lastRunBatches"));
+        assertEquals(false, job.stats().get("lastRunBudgetExhausted"));
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbc.execute((java.sql.Connection connection) -> {
+            try (var statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+            }
+            try (var explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < args.length; i++) {
+                    explain.setObject(i + 1, args[i]);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (var rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+
+    private static void assertIndexScan(String plan, String index) {
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(List.of(plan.split("\n")).stream().anyMatch(line -> line.contains(index)), plan);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.model.RefreshToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RefreshTokenServiceTest {
+
+    private final JwtService jwtService = JwtServiceTest.jwtService(60_000);
+    private final FakeStore store = new FakeStore();
+    private final AccessTokenDenyList denyList = mock(AccessTokenDenyList.class);
+    private final RefreshTokenService service = new RefreshTokenService(store, jwtService,
+            mock(AccessTokenCache.class), mock(RefreshCoordinator.class), denyList);
+
+    @Test
+    void validTokenIsFoundByItsDigest() {
+        String jwt = service.createRefreshToken("ada", "family-1", "test");
+
+        assertEquals(Optional.of("ada"), service.validateRefreshToken(jwt));
+        assertArrayEquals(TokenHasher.sha256(jwt), store.lookups.get(0));
+        assertEquals(1, store.lookups.size());
+    }
+
+    @Test
+    void rowOfAnotherSubjectIsNotAccepted() {
+        String jwt = service.createRefreshToken("ada", "family-1", "test");
+        store.rows.get(ByteBuffer.wrap(TokenHasher.sha256(jwt))).setEmployeeName("bola");
+
+        assertEquals(Optional.empty(), service.validateRefreshToken(jwt));
+    }
+
+    @Test
+    void accessTokenIsRejectedWithoutALookup() {
+        String access = jwtService.generateAccessToken(JwtServiceTest.employee("ada", UserRole.HOD), "family-1");
+
+        assertEquals(Optional.empty(), service.validateRefreshToken(access));
+        assertEquals(Optional.empty(), service.validateRefreshToken("not-a-jwt"));
+        assertTrue(store.lookups.isEmpty());
+    }
+
+    @Test
+    void rotationRevokesTheOldTokenAndKeepsTheFamily() {
+        String jwt = service.createRefreshToken("ada", "family-1", "test");
+
+        RefreshTokenService.RotatedRefreshToken rotated = service.rotateRefreshToken(jwt, "test");
+
+        assertEquals("ada", rotated.username());
+        assertEquals("family-1", rotated.tokenFamily());
+        assertEquals("family-1", jwtService.verify(rotated.jwt()).family());
+        assertEquals(Optional.empty(), service.validateRefreshToken(jwt));
+        assertEquals(Optional.of("ada"), service.validateRefreshToken(rotated.jwt()));
+        assertThrows(RuntimeException.class, () -> service.rotateRefreshToken(jwt, "test"));
+    }
+
+    @Test
+    void expiredRowRevokesTheWholeFamily() {
+        String jwt = service.createRefreshToken("ada", "family-1", "test");
+        String sibling = service.createRefreshToken("ada", "family-1", "other");
+        store.rows.get(ByteBuffer.wrap(TokenHasher.sha256(jwt))).setExpirationDate(LocalDateTime.now().minusSeconds(1));
+
+        assertThrows(RuntimeException.class, () -> service.rotateRefreshToken(jwt, "test"));
+
+        assertEquals(Optional.empty(), service.validateRefreshToken(sibling));
+        verify(denyList).denyFamily("family-1", "ada");
+    }
+
+    @Test
+    void logoutOfAnExpiredJwtFallsBackToTheDigest() {
+        JwtService expiring = JwtServiceTest.jwtService(60_000);
+        ReflectionTestUtils.setField(expiring, "refreshTokenExpirationMs", -1_000L);
+        String expiredJwt = expiring.generateRefreshToken("ada", "family-1");
+        store.save(row(expiredJwt, "ada", "family-1"));
+
+        assertEquals(1, service.revokeSingleSession(expiredJwt));
+        assertTrue(store.rows.values().stream().allMatch(RefreshToken::isRevoked));
+    }
+
+    private static RefreshToken row(String jwt, String username, String family) {
+        RefreshToken token = new RefreshToken();
+        token.setToken(TokenHasher.sha256(jwt));
+        token.setEmployeeName(username);
+        token.setTokenFamily(family);
+        token.setExpirationDate(LocalDateTime.now().plusMinutes(1));
+        return token;
+    }
+
+    /**
+     * Map-backed store with the RefreshTokenStore contract, recording digest lookups
+     */
+    static class FakeStore implements RefreshTokenStore {
+        final Map<ByteBuffer, RefreshToken> rows = new ConcurrentHashMap<>();
+        final List<byte[]> lookups = new ArrayList<>();
+
+        @Override
+        public void save(RefreshToken token) {
+            rows.put(ByteBuffer.wrap(token.getToken()), token);
+        }
+
+        @Override
+        public Optional<RefreshToken> findActiveByDigest(byte[] digest) {
+            lookups.add(digest);
+            return Optional.ofNullable(rows.get(ByteBuffer.wrap(digest))).filter(token -> !token.isRevoked());
+        }
+
+        @Override
+        public synchronized boolean rotate(RefreshToken current, RefreshToken replacement) {
+            if (current.isRevoked()) {
+                return false;
+            }
+            current.setRevoked(true);
+            save(replacement);
+            return true;
+        }
+
+        @Override
+        public int revokeFamily(String tokenFamily) {
+            return revokeIf(token -> token.getTokenFamily().equals(tokenFamily));
+        }
+
+        @Override
+        public int revokeAllForEmployee(String employeeName) {
+            return revokeIf(token -> token.getEmployeeName().equals(employeeName));
+        }
+
+        private int revokeIf(Predicate<RefreshToken> match) {
+            int revoked = 0;
+            for (RefreshToken token : rows.values()) {
+                if (!token.isRevoked() && match.test(token)) {
+                    token.setRevoked(true);
+                    revoked++;
+                }
+            }
+            return revoked;
+        }
+
+        @Override
+        public long countActiveSessions(String employeeName, LocalDateTime now) {
+            return rows.values().stream()
+                    .filter(token -> !token.isRevoked() && token.getEmployeeName().equals(employeeName))
+                    .map(RefreshToken::getTokenFamily)
+                    .distinct()
+                    .count();
+        }
+
+        @Override
+        public Map<String, Object> stats() {
+            return Map.of("store", "fake");
+        }
+    }
+}
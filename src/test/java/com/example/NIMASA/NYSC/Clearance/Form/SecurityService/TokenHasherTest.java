@@ -0,0 +1,76 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenHasherTest {
+
+    private static byte[] reference(String token) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void knownVectors() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                HexFormat.of().formatHex(TokenHasher.sha256("")));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                HexFormat.of().formatHex(TokenHasher.sha256("abc")));
+        assertEquals(TokenHasher.DIGEST_LENGTH, TokenHasher.sha256("abc").length);
+    }
+
+    @Test
+    void nonAsciiTokenIsHashedAsUtf8() throws Exception {
+        assertArrayEquals(reference("tökén-€"), TokenHasher.sha256("tökén-€"));
+        // The pooled hasher is still clean afterwards
+        assertArrayEquals(reference("abc"), TokenHasher.sha256("abc"));
+    }
+
+    @Test
+    void tokenLongerThanTheScratchBuffer() throws Exception {
+        String longToken = "x".repeat(5000);
+
+        assertArrayEquals(reference(longToken), TokenHasher.sha256(longToken));
+        assertArrayEquals(reference("short"), TokenHasher.sha256("short"));
+    }
+
+    @Test
+    void concurrentCallersGetTheirOwnDigest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = IntStream.range(0, 200)
+                    .<Callable<Boolean>>mapToObj(i -> () -> {
+                        String token = "header.payload-" + i + ".signature";
+                        return MessageDigest.isEqual(reference(token), TokenHasher.sha256(token));
+                    })
+                    .toList();
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void matchesAndKeyCompareByContent() {
+        byte[] a = TokenHasher.sha256("token");
+        byte[] b = TokenHasher.sha256("token");
+
+        assertNotSame(a, b);
+        assertTrue(TokenHasher.matches(a, b));
+        assertFalse(TokenHasher.matches(a, TokenHasher.sha256("other")));
+        assertEquals(TokenHasher.key(a), TokenHasher.key(b));
+        assertEquals(TokenHasher.key(a).hashCode(), TokenHasher.key(b).hashCode());
+    }
+}
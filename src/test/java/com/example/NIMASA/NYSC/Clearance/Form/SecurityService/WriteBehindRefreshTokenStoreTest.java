@@ -0,0 +1,177 @@
+package com.example.NIMASA.NYSC.Clearance.Form.SecurityService;
+
+import com.example.NIMASA.NYSC.Clearance.Form.model.RefreshToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class WriteBehindRefreshTokenStoreTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final WriteBehindRefreshTokenStore store = store(3);
+
+    private WriteBehindRefreshTokenStore store(int maxAttempts) {
+        WriteBehindRefreshTokenStore store = new WriteBehindRefreshTokenStore(jdbcTemplate, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(store, "maxBatch", 500);
+        ReflectionTestUtils.setField(store, "maxAttempts", maxAttempts);
+        return store;
+    }
+
+    private static RefreshToken token(String employee, String family, String jwt) {
+        RefreshToken token = new RefreshToken();
+        token.setToken(TokenHasher.sha256(jwt));
+        token.setEmployeeName(employee);
+        token.setTokenFamily(family);
+        token.setExpirationDate(LocalDateTime.now().plusDays(1));
+        return token;
+    }
+
+    @Test
+    void revokeFamilyIsWrittenAtOnceAndDropsTheQueuedInsert() {
+        store.save(token("ada", "family-1", "jwt-1"));
+
+        assertEquals(1, store.revokeFamily("family-1"));
+
+        verify(jdbcTemplate).update(startsWith("UPDATE refresh_tokens SET revoked = true WHERE token_family"), eq("family-1"));
+        assertEquals(0, store.stats().get("pendingWrites"));
+        store.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void failedRevokeFamilyPropagatesAndKeepsTheSession() {
+        RefreshToken token = token("ada", "family-1", "jwt-1");
+        store.save(token);
+        when(jdbcTemplate.update(anyString(), eq("family-1"))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> store.revokeFamily("family-1"));
+
+        assertEquals(Optional.of(token), store.findActiveByDigest(TokenHasher.sha256("jwt-1")));
+        assertEquals(1, store.stats().get("pendingWrites"));
+    }
+
+    @Test
+    void revokeAllForEmployeeOnlyDropsThatEmployeesInserts() {
+        store.save(token("ada", "family-1", "jwt-1"));
+        store.save(token("ada", "family-2", "jwt-2"));
+        store.save(token("bola", "family-3", "jwt-3"));
+
+        assertEquals(2, store.revokeAllForEmployee("ada"));
+
+        verify(jdbcTemplate).update(startsWith("UPDATE refresh_tokens SET revoked = true WHERE employee_name"), eq("ada"));
+        assertEquals(1, store.stats().get("pendingWrites"));
+        assertTrue(store.findActiveByDigest(TokenHasher.sha256("jwt-3")).isPresent());
+    }
+
+    @Test
+    void failedRevokeAllForEmployeePropagatesAndKeepsTheSessions() {
+        store.save(token("ada", "family-1", "jwt-1"));
+        store.save(token("ada", "family-2", "jwt-2"));
+        when(jdbcTemplate.update(anyString(), eq("ada"))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> store.revokeAllForEmployee("ada"));
+
+        assertEquals(2, store.countActiveSessions("ada", LocalDateTime.now()));
+        assertEquals(2, store.stats().get("pendingWrites"));
+    }
+
+    @Test
+    void transientFlushFailureIsRetried() {
+        store.save(token("ada", "family-1", "jwt-1"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[]{1});
+
+        store.flush();
+        assertEquals(1, store.stats().get("pendingWrites"));
+        store.flush();
+
+        assertEquals(0, store.stats().get("pendingWrites"));
+        assertEquals(1L, store.stats().get("flushedWrites"));
+        assertEquals(1L, store.stats().get("flushFailures"));
+        assertEquals(0L, store.stats().get("droppedWrites"));
+    }
+
+    @Test
+    void batchThatKeepsFailingIsWrittenRowByRowAndTheBadRowDropped() {
+        RefreshToken bad = token("ada", "family-1", "jwt-1");
+        store.save(bad);
+        store.save(token("bola", "family-2", "jwt-2"));
+        // A constraint violation that no retry will fix, on the first row only
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> args = invocation.getArgument(1);
+            if (args.stream().anyMatch(row -> row[0].equals(bad.getId()))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return new int[args.size()];
+        });
+
+        store.flush();
+        store.flush();
+        assertEquals(2, store.stats().get("pendingWrites"));
+        store.flush(); // third failure: row by row
+
+        assertEquals(0, store.stats().get("pendingWrites"));
+        assertEquals(1L, store.stats().get("droppedWrites"));
+        assertEquals(1L, store.stats().get("flushedWrites"));
+        assertEquals(3L, store.stats().get("flushFailures"));
+
+        // The queue is unblocked
+        store.save(token("chi", "family-3", "jwt-3"));
+        store.flush();
+        assertEquals(0, store.stats().get("pendingWrites"));
+        assertEquals(2L, store.stats().get("flushedWrites"));
+    }
+
+    @Test
+    void revocationWaitsForOneBatchNotTheWholeQueue() throws Exception {
+        ReflectionTestUtils.setField(store, "maxBatch", 1);
+        for (int i = 0; i < 3; i++) {
+            store.save(token("bola", "family-" + i, "jwt-" + i));
+        }
+        store.save(token("ada", "family-ada", "jwt-ada"));
+        List<String> calls = new CopyOnWriteArrayList<>();
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            calls.add("batch");
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            return new int[]{1};
+        });
+        when(jdbcTemplate.update(anyString(), eq("family-ada"))).thenAnswer(invocation -> {
+            calls.add("revoke");
+            return 1;
+        });
+
+        Thread flusher = Thread.ofVirtual().start(store::flush);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        Thread revoker = Thread.ofVirtual().start(() -> store.revokeFamily("family-ada"));
+        while (revoker.getState() != Thread.State.WAITING) {
+            Thread.sleep(5); // parked on the write lock
+        }
+        releaseFirstBatch.countDown();
+        flusher.join(5_000);
+        revoker.join(5_000);
+
+        // The revoke ran right after the batch in flight; its own queued insert was dropped
+        assertEquals(List.of("batch", "revoke", "batch", "batch"), calls);
+        assertEquals(0, store.stats().get("pendingWrites"));
+    }
+}
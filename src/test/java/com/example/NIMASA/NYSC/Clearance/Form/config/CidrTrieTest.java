@@ -0,0 +1,105 @@
+package com.example.NIMASA.NYSC.Clearance.Form.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CidrTrieTest {
+
+    private static CidrTrie trie(String... blocks) {
+        CidrTrie trie = new CidrTrie();
+        for (String block : blocks) {
+            trie.add(block);
+        }
+        return trie;
+    }
+
+    private static boolean contains(CidrTrie trie, String address) {
+        return trie.contains(CidrTrie.parseAddress(address));
+    }
+
+    @Test
+    void ipv4PrefixBoundaries() {
+        CidrTrie trie = trie("10.0.0.0/8", "192.168.1.0/24", "172.16.0.0/12");
+
+        assertTrue(contains(trie, "10.0.0.0"));
+        assertTrue(contains(trie, "10.255.255.255"));
+        assertFalse(contains(trie, "11.0.0.0"));
+        assertFalse(contains(trie, "9.255.255.255"));
+        assertTrue(contains(trie, "192.168.1.77"));
+        assertFalse(contains(trie, "192.168.2.1"));
+        assertTrue(contains(trie, "172.31.255.255"));
+        assertFalse(contains(trie, "172.32.0.0"));
+    }
+
+    @Test
+    void bareAddressIsAHostRoute() {
+        CidrTrie trie = trie("203.0.113.7");
+
+        assertTrue(contains(trie, "203.0.113.7"));
+        assertFalse(contains(trie, "203.0.113.6"));
+        assertFalse(contains(trie, "203.0.113.8"));
+    }
+
+    @Test
+    void zeroPrefixCoversItsFamilyOnly() {
+        CidrTrie trie = trie("0.0.0.0/0");
+
+        assertTrue(contains(trie, "8.8.8.8"));
+        assertFalse(contains(trie, "2001:db8::1"));
+    }
+
+    @Test
+    void ipv6Blocks() {
+        CidrTrie trie = trie("fc00::/7", "2001:db8::1");
+
+        assertTrue(contains(trie, "fd12:3456::1"));
+        assertTrue(contains(trie, "[fc00::]"));
+        assertFalse(contains(trie, "fe80::1"));
+        assertTrue(contains(trie, "2001:db8::1"));
+        assertFalse(contains(trie, "2001:db8::2"));
+        assertFalse(contains(trie, "10.0.0.1"));
+    }
+
+    @Test
+    void ipv4MappedIpv6MatchesIpv4Blocks() {
+        CidrTrie trie = trie("10.0.0.0/8");
+
+        assertEquals(4, CidrTrie.parseAddress("::ffff:10.1.2.3").length);
+        assertTrue(contains(trie, "::ffff:10.1.2.3"));
+    }
+
+    @Test
+    void nestedBlocksAreCountedButCoverOnce() {
+        CidrTrie trie = trie("10.0.0.0/8", "10.1.0.0/16");
+
+        assertEquals(2, trie.size());
+        assertTrue(contains(trie, "10.1.2.3"));
+        assertTrue(contains(trie, "10.2.0.0"));
+    }
+
+    @Test
+    void invalidBlocksAreRejected() {
+        CidrTrie trie = new CidrTrie();
+
+        assertThrows(IllegalArgumentException.class, () -> trie.add("10.0.0.0/33"));
+        assertThrows(IllegalArgumentException.class, () -> trie.add("10.0.0.0/-1"));
+        assertThrows(IllegalArgumentException.class, () -> trie.add("fc00::/129"));
+        assertThrows(IllegalArgumentException.class, () -> trie.add("proxy.internal/8"));
+        assertThrows(IllegalArgumentException.class, () -> trie.add("10.0.0/8"));
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void parseAddressNeverResolvesHostnames() {
+        assertNull(CidrTrie.parseAddress(""));
+        assertNull(CidrTrie.parseAddress("localhost"));
+        assertNull(CidrTrie.parseAddress("example.com"));
+        assertNull(CidrTrie.parseAddress("256.0.0.1"));
+        assertNull(CidrTrie.parseAddress("1.2.3.4.5"));
+        assertNull(CidrTrie.parseAddress("1..2.3"));
+        assertNull(CidrTrie.parseAddress("host:8080"));
+        assertArrayEquals(new byte[]{(byte) 192, (byte) 168, 0, 1}, CidrTrie.parseAddress("192.168.0.1"));
+        assertEquals(16, CidrTrie.parseAddress("::1").length);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.NIMASA.NYSC.Clearance.Form.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver("10.0.0.0/8, 192.168.1.5,fc00::/7");
+
+    @Test
+    void headerIsIgnoredWithoutTrustedProxies() {
+        ClientIpResolver untrusting = new ClientIpResolver("");
+
+        assertEquals("10.0.0.1", untrusting.resolve("10.0.0.1", "1.2.3.4"));
+    }
+
+    @Test
+    void headerIsIgnoredWhenThePeerIsNotAProxy() {
+        assertEquals("8.8.8.8", resolver.resolve("8.8.8.8", "1.2.3.4"));
+    }
+
+    @Test
+    void clientBehindOneProxy() {
+        assertEquals("1.2.3.4", resolver.resolve("10.0.0.1", "1.2.3.4"));
+        assertEquals("10.0.0.1", resolver.resolve("10.0.0.1", null));
+    }
+
+    @Test
+    void chainOfTrustedProxiesIsWalkedRightToLeft() {
+        assertEquals("1.2.3.4", resolver.resolve("10.0.0.1", "1.2.3.4, 192.168.1.5, 10.9.9.9"));
+        assertEquals("1.2.3.4", resolver.resolve("fd00::1", "1.2.3.4,10.0.0.2"));
+    }
+
+    @Test
+    void spoofedLeftmostEntriesDoNotMoveTheClient() {
+        assertEquals("1.2.3.4", resolver.resolve("10.0.0.1", "6.6.6.6, 10.0.0.9, 1.2.3.4"));
+    }
+
+    @Test
+    void untrustedHopStopsTheWalk() {
+        // 192.168.1.6 is not trusted, so it is the client even though a trusted address is left of it
+        assertEquals("192.168.1.6", resolver.resolve("10.0.0.1", "10.0.0.7, 192.168.1.6"));
+    }
+
+    @Test
+    void garbageHopStopsAtTheLastVouchedAddress() {
+        assertEquals("10.0.0.2", resolver.resolve("10.0.0.1", "1.2.3.4, unknown, 10.0.0.2"));
+        assertEquals("1.2.3.4", resolver.resolve("10.0.0.1", "1.2.3.4, , "));
+    }
+
+    @Test
+    void allHopsTrustedFallsBackToTheLeftmost() {
+        assertEquals("10.0.0.3", resolver.resolve("10.0.0.1", "10.0.0.3, 10.0.0.2"));
+    }
+
+    @Test
+    void filterStoresTheResolvedIp() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "1.2.3.4");
+
+        resolver.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("1.2.3.4", ClientIpResolver.clientIp(request));
+        assertEquals("127.0.0.1", ClientIpResolver.clientIp(new MockHttpServletRequest()));
+    }
+
+    @Test
+    void invalidTrustedProxyFailsAtStartup() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientIpResolver("10.0.0.0/8,proxy.internal"));
+    }
+}
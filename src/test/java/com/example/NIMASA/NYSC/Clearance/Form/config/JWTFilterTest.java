@@ -0,0 +1,103 @@
+package com.example.NIMASA.NYSC.Clearance.Form.config;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.*;
+import com.example.NIMASA.NYSC.Clearance.Form.model.Employee;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.AuthenticatedEmployee;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.EmployeePrincipal;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.TokenPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class JWTFilterTest {
+
+    private final JwtService jwtService = jwtService();
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final AuthzVersionRegistry authzVersionRegistry = mock(AuthzVersionRegistry.class);
+    private final AccessTokenDenyList denyList = new AccessTokenDenyList(jwtService, 1000);
+    private final JWTFilter filter = new JWTFilter(jwtService, new AccessTokenCache(100), userDetailsService,
+            authzVersionRegistry, denyList, mock(AuthCookiePolicy.class));
+
+    private final Employee employee = employee(UserRole.HOD, 4);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void currentAuthzVersionAuthenticatesFromClaims() throws Exception {
+        ReflectionTestUtils.setField(filter, "claimsPrincipalEnabled", true);
+        when(authzVersionRegistry.isCurrent("ada", 4)).thenReturn(true);
+
+        Authentication auth = filter(jwtService.generateAccessToken(employee, "family-1"));
+
+        assertInstanceOf(TokenPrincipal.class, auth.getPrincipal());
+        assertEquals(UserRole.HOD, ((AuthenticatedEmployee) auth.getPrincipal()).getRole());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void staleAuthzVersionFallsBackToTheDatabasePrincipal() throws Exception {
+        ReflectionTestUtils.setField(filter, "claimsPrincipalEnabled", true);
+        when(authzVersionRegistry.isCurrent("ada", 4)).thenReturn(false);
+        Employee promoted = employee(UserRole.ADMIN, 5);
+        when(userDetailsService.loadUserByUsername("ada")).thenReturn(new EmployeePrincipal(promoted));
+
+        Authentication auth = filter(jwtService.generateAccessToken(employee, "family-1"));
+
+        assertInstanceOf(EmployeePrincipal.class, auth.getPrincipal());
+        assertEquals(UserRole.ADMIN, ((AuthenticatedEmployee) auth.getPrincipal()).getRole());
+    }
+
+    @Test
+    void switchOffAlwaysLoadsTheDatabasePrincipal() throws Exception {
+        ReflectionTestUtils.setField(filter, "claimsPrincipalEnabled", false);
+        when(userDetailsService.loadUserByUsername("ada")).thenReturn(new EmployeePrincipal(employee));
+
+        Authentication auth = filter(jwtService.generateAccessToken(employee, "family-1"));
+
+        assertInstanceOf(EmployeePrincipal.class, auth.getPrincipal());
+        verify(authzVersionRegistry, never()).isCurrent(anyString(), anyLong());
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/unified-auth/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        return auth;
+    }
+
+    private static Employee employee(UserRole role, long authzVersion) {
+        Employee employee = new Employee();
+        employee.setUsername("ada");
+        employee.setName("Ada Obi");
+        employee.setPassword("x");
+        employee.setDepartment("ICT");
+        employee.setRole(role);
+        employee.setAuthzVersion(authzVersion);
+        return employee;
+    }
+
+    private static JwtService jwtService() {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", "c2VjcmV0LWtleS1mb3ItdGVzdHMtMDEyMzQ1Njc4OWFiY2RlZg==");
+        ReflectionTestUtils.setField(service, "accessTokenExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(service, "refreshTokenExpirationMs", 60_000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
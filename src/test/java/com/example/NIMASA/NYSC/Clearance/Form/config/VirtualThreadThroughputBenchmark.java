@@ -0,0 +1,140 @@
+package com.example.NIMASA.NYSC.Clearance.Form.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Request throughput and p99 latency of embedded Tomcat when each request
+ * blocks on an "employee lookup" (standing in for the JDBC call at login,
+ * or a Cloudinary upload; 20 ms unless -Dbenchmark.lookup-ms is set),
+ * with 1,000 concurrent clients:
+ *   - platform threads (Tomcat's 200-thread pool), lookup wrapped in
+ *     CompletableFuture.supplyAsync(...).join() as authenticate() used to
+ *   - platform threads, lookup called directly
+ *   - virtual threads (what spring.threads.virtual.enabled installs), direct
+ *
+ * Not part of the normal build:
+ *   mvn test -Dtest=VirtualThreadThroughputBenchmark -Dbenchmark=true
+ *
+ * The clients run in the same JVM, so on a small machine they compete with
+ * the server for CPU; the 200-thread cap only shows once
+ * 200 / lookup time is below what the CPU can serve.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadThroughputBenchmark {
+
+    private static final int CONCURRENCY = 1_000;
+    private static final long LOOKUP_MILLIS = Long.getLong("benchmark.lookup-ms", 20);
+    private static final long WARMUP_MILLIS = 3_000;
+    private static final long MEASURE_MILLIS = 10_000;
+
+    interface Lookup {
+        String find(String username);
+    }
+
+    @Test
+    void platformVsVirtualRequestThreads() throws Exception {
+        Lookup direct = VirtualThreadThroughputBenchmark::blockingLookup;
+        Lookup viaCommonPool = username -> CompletableFuture.supplyAsync(() -> blockingLookup(username)).join();
+
+        report("platform threads, supplyAsync().join()", measure(false, viaCommonPool));
+        report("platform threads, direct call", measure(false, direct));
+        report("virtual threads, direct call", measure(true, direct));
+    }
+
+    private static String blockingLookup(String username) {
+        try {
+            Thread.sleep(LOOKUP_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return username;
+    }
+
+    private static void report(String name, double[] result) {
+        System.out.printf("%-40s %8.0f req/s, p99 %6.0f ms%n", name, result[0], result[1]);
+        assertTrue(result[0] > 0);
+    }
+
+    /**
+     * {requests/s, p99 millis}
+     */
+    private double[] measure(boolean virtualThreads, Lookup lookup) throws Exception {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if (virtualThreads) {
+            factory.addProtocolHandlerCustomizers(handler -> handler.setExecutor(new VirtualThreadExecutor("tomcat-handler-")));
+        }
+        factory.addInitializers(context -> context.addServlet("login", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.getWriter().write(lookup.find(request.getParameter("username")));
+            }
+        }).addMapping("/login"));
+
+        WebServer server = factory.getWebServer();
+        server.start();
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            URI uri = URI.create("http://localhost:" + server.getPort() + "/login?username=Initial.Admin");
+            run(client, uri, WARMUP_MILLIS);
+            long[] latencies = run(client, uri, MEASURE_MILLIS);
+            Arrays.sort(latencies);
+            double p99 = latencies.length == 0 ? 0 : latencies[(int) (latencies.length * 0.99)] / 1_000_000.0;
+            return new double[]{latencies.length * 1000.0 / MEASURE_MILLIS, p99};
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static long[] run(HttpClient client, URI uri, long millis) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).build();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        List<long[]> perClient = new ArrayList<>();
+        List<CompletableFuture<long[]>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                clients.add(CompletableFuture.supplyAsync(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            client.send(request, HttpResponse.BodyHandlers.discarding());
+                        } catch (Exception e) {
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }, executor));
+            }
+            for (CompletableFuture<long[]> c : clients) {
+                perClient.add(c.get());
+            }
+        }
+        return perClient.stream().flatMapToLong(Arrays::stream).toArray();
+    }
+}
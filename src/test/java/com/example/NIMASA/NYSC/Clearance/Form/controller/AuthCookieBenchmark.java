@@ -0,0 +1,154 @@
+package com.example.NIMASA.NYSC.Clearance.Form.controller;
+
+import com.example.NIMASA.NYSC.Clearance.Form.DTOs.RefreshTokenResponseDTO;
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.*;
+import com.example.NIMASA.NYSC.Clearance.Form.service.AdminStatsService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * MockMvc throughput of /refresh and /logout with the old cookie code
+ * (String.format + System.getenv per cookie, Cookie objects on logout)
+ * vs AuthCookiePolicy. The auth service is mocked down to the cookie
+ * writing so the numbers compare only the header work.
+ *
+ * Note MockHttpServletResponse re-parses every raw Set-Cookie header
+ * (Tomcat just stores it), which flatters addCookie() on /logout here.
+ *
+ * Not part of the normal build:
+ *   mvn test -Dtest=AuthCookieBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AuthCookieBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static final long ACCESS_MS = 21_600_000L;
+    private static final long REFRESH_MS = 604_800_000L;
+    private static final String JWT = "eyJhbGciOiJIUzI1NiJ9." + "x".repeat(260) + ".sig0123456789abcdefghijklmnopqrstuvwxyzABCD";
+
+    interface CookieWriter {
+        void set(HttpServletResponse response, String access, String refresh);
+
+        void clear(HttpServletResponse response);
+    }
+
+    @Test
+    void authEndpointThroughput() throws Exception {
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.getAccessTokenExpirationMs()).thenReturn(ACCESS_MS);
+        when(jwtService.getRefreshTokenExpirationMs()).thenReturn(REFRESH_MS);
+        AuthCookiePolicy policy = new AuthCookiePolicy(jwtService, "production");
+
+        CookieWriter legacy = new CookieWriter() {
+            @Override
+            public void set(HttpServletResponse response, String access, String refresh) {
+                legacySet(response, "accessToken", access, ACCESS_MS);
+                legacySet(response, "refreshToken", refresh, REFRESH_MS);
+            }
+
+            @Override
+            public void clear(HttpServletResponse response) {
+                Cookie accessCookie = new Cookie("accessToken", "");
+                accessCookie.setHttpOnly(true);
+                accessCookie.setSecure(true);
+                accessCookie.setPath("/api");
+                accessCookie.setMaxAge(0);
+                Cookie refreshCookie = new Cookie("refreshToken", "");
+                refreshCookie.setHttpOnly(true);
+                refreshCookie.setSecure(true);
+                refreshCookie.setPath("/api/unified-auth");
+                refreshCookie.setMaxAge(0);
+                response.addCookie(accessCookie);
+                response.addCookie(refreshCookie);
+            }
+        };
+        CookieWriter current = new CookieWriter() {
+            @Override
+            public void set(HttpServletResponse response, String access, String refresh) {
+                policy.setAccessToken(response, access);
+                policy.setRefreshToken(response, refresh);
+            }
+
+            @Override
+            public void clear(HttpServletResponse response) {
+                policy.clear(response);
+            }
+        };
+
+        for (String endpoint : new String[]{"/api/unified-auth/refresh", "/api/unified-auth/logout"}) {
+            double before = throughput(mockMvc(legacy), endpoint);
+            double after = throughput(mockMvc(current), endpoint);
+            System.out.printf("%s: legacy cookies %.0f req/s, AuthCookiePolicy %.0f req/s (%.2fx)%n",
+                    endpoint, before, after, after / before);
+        }
+    }
+
+    private static void legacySet(HttpServletResponse response, String name, String value, long maxAgeMs) {
+        String env = System.getenv("ENVIRONMENT");
+        boolean isProduction = !(env != null && env.equalsIgnoreCase("development"));
+        String sameSite = isProduction ? "None" : "Lax";
+        String secure = isProduction ? "; Secure" : "";
+        response.addHeader("Set-Cookie", String.format(
+                "%s=%s; Path=/; HttpOnly; SameSite=%s%s; Max-Age=%d",
+                name, value, sameSite, secure, (int) (maxAgeMs / 1000)));
+    }
+
+    private double throughput(MockMvc mockMvc, String endpoint) throws Exception {
+        Cookie cookie = new Cookie("refreshToken", JWT);
+        for (int i = 0; i < WARMUP; i++) {
+            mockMvc.perform(post(endpoint).cookie(cookie));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            int status = mockMvc.perform(post(endpoint).cookie(cookie)).andReturn().getResponse().getStatus();
+            assertEquals(200, status);
+        }
+        return ITERATIONS / (double) (System.nanoTime() - start) * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private MockMvc mockMvc(CookieWriter cookies) {
+        // stubOnly: don't record a million invocations for verification
+        UnifiedAuthService authService = mock(UnifiedAuthService.class, withSettings().stubOnly());
+        RefreshTokenResponseDTO refreshed = new RefreshTokenResponseDTO(
+                "Token refreshed successfully", ACCESS_MS, "Initial.Admin", UserRole.ADMIN);
+        when(authService.refreshAccessToken(any(), any())).thenAnswer(invocation -> {
+            cookies.set(invocation.getArgument(1), JWT, JWT);
+            return refreshed;
+        });
+        when(authService.logout(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            cookies.clear(invocation.getArgument(1));
+            return "Logged out successfully. 1 session(s) terminated.";
+        });
+
+        UnifiedAuthController controller = new UnifiedAuthController(
+                authService,
+                mock(AdminStatsService.class),
+                mock(RateLimitService.class),
+                mock(AccessTokenCache.class),
+                mock(CustomUserDetailsService.class),
+                mock(PasswordHashingExecutor.class),
+                mock(EmployeeCache.class),
+                mock(RefreshCoordinator.class),
+                mock(RefreshTokenPurgeJob.class),
+                mock(AccessTokenDenyList.class),
+                mock(RefreshTokenStore.class));
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+}
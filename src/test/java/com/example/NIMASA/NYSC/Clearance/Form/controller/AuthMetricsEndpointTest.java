@@ -0,0 +1,79 @@
+package com.example.NIMASA.NYSC.Clearance.Form.controller;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.SecurityService.*;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.TokenPrincipal;
+import com.example.NIMASA.NYSC.Clearance.Form.securityModel.VerifiedClaims;
+import com.example.NIMASA.NYSC.Clearance.Form.service.AdminStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Date;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthMetricsEndpointTest {
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new UnifiedAuthController(
+            mock(UnifiedAuthService.class),
+            mock(AdminStatsService.class),
+            mock(RateLimitService.class),
+            mock(AccessTokenCache.class),
+            mock(CustomUserDetailsService.class),
+            mock(PasswordHashingExecutor.class),
+            mock(EmployeeCache.class),
+            mock(RefreshCoordinator.class),
+            mock(RefreshTokenPurgeJob.class),
+            mock(AccessTokenDenyList.class),
+            mock(RefreshTokenStore.class))).build();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void anonymousIsUnauthorized() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        mockMvc.perform(get("/api/unified-auth/admin/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void nonAdminIsForbidden() throws Exception {
+        authenticateAs(UserRole.HOD);
+
+        mockMvc.perform(get("/api/unified-auth/admin/metrics"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminGetsMetrics() throws Exception {
+        authenticateAs(UserRole.ADMIN);
+
+        mockMvc.perform(get("/api/unified-auth/admin/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.passwordHashing").hasJsonPath())
+                .andExpect(jsonPath("$.refreshTokenStore").hasJsonPath());
+    }
+
+    private static void authenticateAs(UserRole role) {
+        VerifiedClaims claims = new VerifiedClaims("ada", "access", "family-1", new Date(),
+                new Date(System.currentTimeMillis() + 60_000),
+                new VerifiedClaims.Authz(1, role, "ICT", "Ada Obi", 0));
+        TokenPrincipal principal = TokenPrincipal.from(claims);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
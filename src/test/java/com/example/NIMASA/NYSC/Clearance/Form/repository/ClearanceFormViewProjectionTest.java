@@ -0,0 +1,100 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
+import com.example.NIMASA.NYSC.Clearance.Form.model.ClearanceForm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs the listing query for every role view against a fully filled-in form
+ * and compares each component with the entity, so a renamed attribute or a
+ * record Hibernate can no longer build from the select list fails here.
+ *
+ * Needs Docker; skipped when it is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ClearanceFormViewProjectionTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final LocalDate CURSOR_DATE = LocalDate.of(9999, 12, 31);
+    private static final UUID CURSOR_ID = new UUID(-1L, -1L);
+
+    @Autowired
+    private ClearanceRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ClearanceForm form;
+
+    @BeforeEach
+    void saveForm() {
+        // Every column set, so a component that is not read comes back null
+        form = new ClearanceForm();
+        form.setCorpsName("Ada Obi");
+        form.setStateCode("LA/24A/1234");
+        form.setDepartment("ICT");
+        form.setCdsDay("Tuesday");
+        form.setDayAbsent(2);
+        form.setConductRemark("Punctual");
+        form.setSupervisorName("Supervisor Bola");
+        form.setSupervisorSignaturePath("https://example.com/supervisor.png");
+        form.setSupervisorDate(LocalDate.of(2024, 6, 3));
+        form.setHodRemark("Recommended");
+        form.setHodName("Hod Chi");
+        form.setHodSignaturePath("https://example.com/hod.png");
+        form.setHodDate(LocalDate.of(2024, 6, 4));
+        form.setStatus(FormStatus.APPROVED);
+        form.setCreatedAt(LocalDate.of(2024, 6, 1));
+        form.setUpdatedAt(LocalDate.of(2024, 6, 5));
+        form.setAdminName("Admin Dayo");
+        form.setApprovalDate(LocalDate.of(2024, 6, 5));
+        form.setApproved(true);
+        entityManager.persistAndFlush(form);
+        entityManager.clear();
+    }
+
+    @Test
+    void everyRoleViewMatchesTheEntity() throws Exception {
+        for (UserRole role : UserRole.values()) {
+            Class<? extends ClearanceFormView> view = ClearanceFormView.forRole(role);
+
+            List<? extends ClearanceFormView> rows =
+                    repository.findPage(FormFilter.ALL, view, CURSOR_DATE, CURSOR_ID, 10);
+
+            assertEquals(1, rows.size(), view.getSimpleName());
+            ClearanceFormView row = rows.get(0);
+            assertEquals(view, row.getClass());
+            for (RecordComponent component : view.getRecordComponents()) {
+                Object expected = new PropertyDescriptor(component.getName(), ClearanceForm.class)
+                        .getReadMethod().invoke(form);
+                assertNotNull(expected, component.getName());
+                assertEquals(expected, component.getAccessor().invoke(row),
+                        view.getSimpleName() + "." + component.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.model.ClearanceForm;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The listing query selects "f." + each record component name and builds the
+ * record from the columns in that order, so every component must be a
+ * ClearanceForm attribute of the same type. Runs without a database; the
+ * queries themselves are checked by ClearanceFormViewProjectionTest.
+ */
+class ClearanceFormViewTest {
+
+    @Test
+    void everyComponentIsAnEntityAttributeOfTheSameType() throws Exception {
+        for (UserRole role : UserRole.values()) {
+            Class<? extends ClearanceFormView> view = ClearanceFormView.forRole(role);
+            assertTrue(view.isRecord(), view.getName());
+
+            for (RecordComponent component : view.getRecordComponents()) {
+                Field field;
+                try {
+                    field = ClearanceForm.class.getDeclaredField(component.getName());
+                } catch (NoSuchFieldException e) {
+                    fail(view.getSimpleName() + "." + component.getName() + " is not a ClearanceForm attribute");
+                    return;
+                }
+                assertEquals(field.getType(), component.getType(),
+                        view.getSimpleName() + "." + component.getName());
+            }
+        }
+    }
+
+    @Test
+    void eachRoleSeesOnlyItsSections() {
+        assertEquals(ClearanceFormView.CorpsMember.class, ClearanceFormView.forRole(UserRole.CORPS_MEMBER));
+        assertEquals(ClearanceFormView.Supervisor.class, ClearanceFormView.forRole(UserRole.SUPERVISOR));
+        assertEquals(ClearanceFormView.Hod.class, ClearanceFormView.forRole(UserRole.HOD));
+        assertEquals(ClearanceFormView.Admin.class, ClearanceFormView.forRole(UserRole.ADMIN));
+
+        assertFalse(ClearanceFormView.SupervisorSection.class.isAssignableFrom(ClearanceFormView.CorpsMember.class));
+        assertFalse(ClearanceFormView.HodSection.class.isAssignableFrom(ClearanceFormView.CorpsMember.class));
+        assertFalse(ClearanceFormView.HodSection.class.isAssignableFrom(ClearanceFormView.Supervisor.class));
+        assertFalse(ClearanceFormView.SupervisorSection.class.isAssignableFrom(ClearanceFormView.Hod.class));
+        assertTrue(ClearanceFormView.SupervisorSection.class.isAssignableFrom(ClearanceFormView.Admin.class));
+        assertTrue(ClearanceFormView.HodSection.class.isAssignableFrom(ClearanceFormView.Admin.class));
+    }
+
+    @Test
+    void corpsMemberViewHasNoRemarksOrSignatures() {
+        for (RecordComponent component : ClearanceFormView.CorpsMember.class.getRecordComponents()) {
+            String name = component.getName().toLowerCase();
+            assertFalse(name.contains("remark") || name.contains("signature"), component.getName());
+        }
+    }
+}
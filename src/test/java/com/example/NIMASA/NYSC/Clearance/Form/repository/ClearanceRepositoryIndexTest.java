@@ -0,0 +1,189 @@
+package com.example.NIMASA.NYSC.Clearance.Form.repository;
+
+import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every ClearanceRepository finder must be served by the index created for it
+ * by the Flyway migrations. Each finder is run once to capture the SQL
+ * Hibernate generates, then that SQL is EXPLAINed with the same parameters
+ * against a seeded table and the plan must name the finder's index. Checking
+ * for "Seq Scan" alone is not enough: every keyset page can also be read
+ * from (created_at, id) with a filter, so a missing filter index would go
+ * unnoticed. enable_seqscan=off keeps a small table from hiding it either.
+ *
+ * Needs Docker; skipped when it is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceRepositoryIndexTest$CapturingInspector")
+class ClearanceRepositoryIndexTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final int ROWS = 20_000;
+    private static final LocalDate CURSOR_DATE = LocalDate.of(9999, 12, 31);
+    private static final UUID CURSOR_ID = new UUID(-1L, -1L);
+    private static final LocalDate FROM = LocalDate.now().minusDays(60);
+    private static final LocalDate TO = LocalDate.now().minusDays(30);
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ClearanceRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("""
+                INSERT INTO clear_formstable (id, corps_name, state_code, department, cds_day, status,
+                                              supervisor_name, hod_name, admin_name, created_at, updated_at)
+                SELECT gen_random_uuid(),
+                       'Corps Member ' || i,
+                       'LA/24A/' || i,
+                       'Department ' || (i % 10),
+                       'Tuesday',
+                       (ARRAY['PENDING_SUPERVISOR','PENDING_HOD','PENDING_ADMIN','APPROVED','REJECTED'])[1 + i % 5],
+                       CASE WHEN i % 5 > 0 THEN 'Supervisor ' || (i % 40) END,
+                       CASE WHEN i % 5 > 1 THEN 'Hod ' || (i % 20) END,
+                       CASE WHEN i % 5 > 2 THEN 'Admin ' || (i % 5) END,
+                       current_date - (i % 1000),
+                       current_date
+                FROM generate_series(1, ?) AS i""", ROWS);
+        jdbc.execute("ANALYZE clear_formstable");
+        jdbc.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void everyFinderUsesAnIndex() {
+        Map<String, Finder> finders = Map.ofEntries(
+                finder("findByCorpsNameAndStatus", "idx_clear_forms_status_created_id",
+                        () -> repository.findByCorpsNameAndStatus("corps member 42", FormStatus.APPROVED),
+                        "corps member 42", "APPROVED"),
+                finder("countByStatus", "idx_clear_forms_status_created_id",
+                        () -> repository.countByStatus(FormStatus.APPROVED),
+                        "APPROVED"),
+                finder("countByStatusAndDepartment", "idx_clear_forms_pending_dept",
+                        () -> repository.countByStatusAndDepartment(FormStatus.PENDING_HOD, "Department 3"),
+                        "PENDING_HOD", "Department 3"),
+                finder("findBySupervisorName", "idx_clear_forms_supervisor",
+                        () -> repository.findBySupervisorName("Supervisor 7"),
+                        "Supervisor 7"),
+                finder("findByHodName", "idx_clear_forms_hod",
+                        () -> repository.findByHodName("Hod 7"),
+                        "Hod 7"),
+                finder("findByAdminName", "idx_clear_forms_admin",
+                        () -> repository.findByAdminName("Admin 3"),
+                        "Admin 3"),
+                finder("findByCorpsName", "idx_clear_forms_corps_name",
+                        () -> repository.findByCorpsName("Corps Member 42"),
+                        "Corps Member 42"),
+                finder("findPage", "idx_clear_forms_created_id",
+                        () -> page(FormFilter.ALL),
+                        CURSOR_DATE, CURSOR_ID, 21),
+                finder("findPage(status)", "idx_clear_forms_status_created_id",
+                        () -> page(FormFilter.ALL.withStatus(FormStatus.APPROVED)),
+                        "APPROVED", CURSOR_DATE, CURSOR_ID, 21),
+                finder("findPage(status, department)", "idx_clear_forms_pending_dept",
+                        () -> page(FormFilter.ALL.withStatus(FormStatus.PENDING_SUPERVISOR).withDepartment("Department 3")),
+                        "PENDING_SUPERVISOR", "Department 3", CURSOR_DATE, CURSOR_ID, 21),
+                // A selective search; a common substring is found faster walking the keyset index
+                finder("findPage(corpsName)", "idx_clear_forms_corps_name_trgm",
+                        () -> page(FormFilter.ALL.withCorpsNamePattern("%member 4242%")),
+                        "%member 4242%", CURSOR_DATE, CURSOR_ID, 21),
+                finder("findPage(supervisorName)", "idx_clear_forms_supervisor",
+                        () -> page(FormFilter.ALL.withSupervisorName("Supervisor 7")),
+                        "Supervisor 7", CURSOR_DATE, CURSOR_ID, 21),
+                finder("findPage(hodName)", "idx_clear_forms_hod",
+                        () -> page(FormFilter.ALL.withHodName("Hod 7")),
+                        "Hod 7", CURSOR_DATE, CURSOR_ID, 21),
+                finder("countByStatusAndCreatedAtAfter", "idx_clear_forms_status_created_id",
+                        () -> repository.countByStatusAndCreatedAtAfter(FormStatus.APPROVED, FROM),
+                        "APPROVED", FROM),
+                finder("findPage(created)", "idx_clear_forms_created_id",
+                        () -> page(FormFilter.ALL.createdBetween(FROM, TO)),
+                        FROM, TO, CURSOR_DATE, CURSOR_ID, 21),
+                finder("findPage(created, status)", "idx_clear_forms_status_created_id",
+                        () -> page(FormFilter.ALL.createdBetween(FROM, TO).withStatus(FormStatus.REJECTED)),
+                        FROM, TO, "REJECTED", CURSOR_DATE, CURSOR_ID, 21),
+                finder("findPage(created, department)", "idx_clear_forms_department_created_id",
+                        () -> page(FormFilter.ALL.createdBetween(FROM, TO).withDepartment("Department 3")),
+                        FROM, TO, "Department 3", CURSOR_DATE, CURSOR_ID, 21),
+                finder("findPage(created, status, department)", "idx_clear_forms_department_created_id",
+                        () -> page(FormFilter.ALL.createdBetween(FROM, TO).withStatus(FormStatus.APPROVED)
+                                .withDepartment("Department 3")),
+                        FROM, TO, "APPROVED", "Department 3", CURSOR_DATE, CURSOR_ID, 21)
+        );
+
+        List<String> wrongPlans = new ArrayList<>();
+        finders.forEach((name, finder) -> {
+            String plan = explain(finder);
+            if (!plan.contains(finder.index() + " ") && !plan.endsWith(finder.index())) {
+                wrongPlans.add(name + " (expected " + finder.index() + "):\n" + plan);
+            }
+        });
+
+        assertTrue(wrongPlans.isEmpty(), "Finders not served by their index:\n" + String.join("\n\n", wrongPlans));
+    }
+
+    // The widest view: the plan only depends on the filter, not on the columns
+    private void page(FormFilter filter) {
+        repository.findPage(filter, ClearanceFormView.Admin.class, CURSOR_DATE, CURSOR_ID, 21);
+    }
+
+    private record Finder(String index, Runnable call, Object[] args) {
+    }
+
+    private static Map.Entry<String, Finder> finder(String name, String index, Runnable call, Object... args) {
+        return Map.entry(name, new Finder(index, call, args));
+    }
+
+    private String explain(Finder finder) {
+        CapturingInspector.STATEMENTS.clear();
+        finder.call().run();
+        List<String> selects = CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        assertFalse(selects.isEmpty(), "No SELECT captured");
+
+        return jdbc.queryForList("EXPLAIN " + selects.get(selects.size() - 1), String.class, finder.args())
+                .stream()
+                .collect(Collectors.joining("\n"));
+    }
+}
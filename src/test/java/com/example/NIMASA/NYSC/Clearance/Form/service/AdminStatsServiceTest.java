@@ -0,0 +1,132 @@
+package com.example.NIMASA.NYSC.Clearance.Form.service;
+
+import com.example.NIMASA.NYSC.Clearance.Form.model.ClearanceForm;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.CorpsMemberRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeCounts;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.FormCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdminStatsServiceTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final CorpsMemberRepository corpsMemberRepository = mock(CorpsMemberRepository.class);
+    private final ClearanceRepository clearanceRepository = mock(ClearanceRepository.class);
+    private final AdminStatsService service = stats(30);
+
+    private AdminStatsService stats(long ttlSeconds) {
+        return new AdminStatsService(employeeRepository, corpsMemberRepository, clearanceRepository, ttlSeconds);
+    }
+
+    private static FormCounts forms(long total) {
+        FormCounts counts = mock(FormCounts.class);
+        when(counts.getTotal()).thenReturn(total);
+        return counts;
+    }
+
+    @BeforeEach
+    void counts() {
+        EmployeeCounts employees = mock(EmployeeCounts.class);
+        when(employees.getTotal()).thenReturn(5L);
+        when(employees.getActive()).thenReturn(4L);
+        when(employeeRepository.countForDashboard(any())).thenReturn(employees);
+        FormCounts forms = forms(10);
+        when(clearanceRepository.countForDashboard()).thenReturn(forms);
+        when(corpsMemberRepository.count()).thenReturn(7L);
+    }
+
+    @Test
+    void loadsOnceWithinTheTtl() {
+        Map<String, Object> first = service.getDashboardStats();
+        Map<String, Object> second = service.getDashboardStats();
+
+        assertSame(first, second);
+        assertEquals(10L, first.get("totalForms"));
+        assertEquals(1L, first.get("inactiveEmployees"));
+        verify(clearanceRepository, times(1)).countForDashboard();
+        assertEquals(1L, service.stats().get("hits"));
+        assertEquals(1L, service.stats().get("misses"));
+        assertThrows(UnsupportedOperationException.class, () -> first.put("totalForms", 0L));
+    }
+
+    @Test
+    void invalidateReloadsOnTheNextRequest() {
+        service.getDashboardStats();
+        FormCounts eleven = forms(11);
+        when(clearanceRepository.countForDashboard()).thenReturn(eleven);
+
+        service.invalidate();
+
+        assertEquals(11L, service.getDashboardStats().get("totalForms"));
+        verify(clearanceRepository, times(2)).countForDashboard();
+    }
+
+    @Test
+    void zeroTtlDoesNotCache() {
+        AdminStatsService uncached = stats(0);
+
+        uncached.getDashboardStats();
+        uncached.getDashboardStats();
+
+        verify(clearanceRepository, times(2)).countForDashboard();
+    }
+
+    @Test
+    void concurrentColdRequestsShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FormCounts counts = forms(10);
+        when(clearanceRepository.countForDashboard()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return counts;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<String, Object>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(service::getDashboardStats));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100); // let the other callers reach the cache
+            release.countDown();
+
+            for (Future<Map<String, Object>> result : results) {
+                assertEquals(10L, result.get(5, TimeUnit.SECONDS).get("totalForms"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(clearanceRepository, times(1)).countForDashboard();
+    }
+
+    @Test
+    void formWritesInvalidateTheDashboard() {
+        ClearanceFormService forms = new ClearanceFormService(clearanceRepository, employeeRepository,
+                mock(SignatureService.class), corpsMemberRepository, service);
+        when(clearanceRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        assertEquals(10L, service.getDashboardStats().get("totalForms"));
+        FormCounts eleven = forms(11);
+        when(clearanceRepository.countForDashboard()).thenReturn(eleven);
+
+        forms.createForm(new ClearanceForm());
+
+        assertEquals(11L, service.getDashboardStats().get("totalForms"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.NIMASA.NYSC.Clearance.Form.service;
+
+import com.example.NIMASA.NYSC.Clearance.Form.DTOs.CursorPageResponseDTO;
+import com.example.NIMASA.NYSC.Clearance.Form.Enums.UserRole;
+import com.example.NIMASA.NYSC.Clearance.Form.FormStatus;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceFormView;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.ClearanceRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.CorpsMemberRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.EmployeeRepository;
+import com.example.NIMASA.NYSC.Clearance.Form.repository.FormFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Keyset page boundaries: one extra row is fetched to detect a next page,
+ * and the cursor handed out is the last row shown, not the extra one.
+ */
+class ClearanceFormServicePagingTest {
+
+    private final ClearanceRepository repository = mock(ClearanceRepository.class);
+    private final ClearanceFormService service = new ClearanceFormService(repository, mock(EmployeeRepository.class),
+            mock(SignatureService.class), mock(CorpsMemberRepository.class), mock(AdminStatsService.class));
+
+    {
+        ReflectionTestUtils.setField(service, "defaultPageSize", 3);
+        ReflectionTestUtils.setField(service, "maxPageSize", 5);
+    }
+
+    // Newest first, as the repository returns them
+    private static List<ClearanceFormView> rows(int count) {
+        return IntStream.range(0, count)
+                .<ClearanceFormView>mapToObj(i -> new ClearanceFormView.CorpsMember(UUID.randomUUID(), "Corps " + i,
+                        "LA/24A/" + i, "ICT", FormStatus.APPROVED, LocalDate.of(2024, 6, 30).minusDays(i), null))
+                .toList();
+    }
+
+    private void repositoryReturns(List<ClearanceFormView> rows) {
+        doReturn(rows).when(repository).findPage(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void exactlyOnePageHasNoCursor() {
+        repositoryReturns(rows(3));
+
+        CursorPageResponseDTO<ClearanceFormView> page = service.getAllForms(UserRole.CORPS_MEMBER, null, null);
+
+        assertEquals(3, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        verify(repository).findPage(FormFilter.ALL, ClearanceFormView.CorpsMember.class,
+                FormCursor.START.createdAt(), FormCursor.START.id(), 4);
+    }
+
+    @Test
+    void extraRowMeansAnotherPageAfterTheLastRowShown() {
+        List<ClearanceFormView> rows = rows(4);
+        repositoryReturns(rows);
+
+        CursorPageResponseDTO<ClearanceFormView> page = service.getAllForms(UserRole.CORPS_MEMBER, null, null);
+
+        assertEquals(rows.subList(0, 3), page.getItems());
+        assertTrue(page.isHasMore());
+        FormCursor next = FormCursor.decode(page.getNextCursor());
+        assertEquals(rows.get(2).createdAt(), next.createdAt());
+        assertEquals(rows.get(2).id(), next.id());
+    }
+
+    @Test
+    void cursorIsPassedToTheQuery() {
+        repositoryReturns(List.of());
+        FormCursor cursor = new FormCursor(LocalDate.of(2024, 1, 15), UUID.randomUUID());
+
+        CursorPageResponseDTO<ClearanceFormView> page =
+                service.getByStatus(FormStatus.APPROVED, UserRole.ADMIN, cursor.encode(), 2);
+
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+        verify(repository).findPage(FormFilter.ALL.withStatus(FormStatus.APPROVED), ClearanceFormView.Admin.class,
+                cursor.createdAt(), cursor.id(), 3);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        repositoryReturns(List.of());
+
+        service.getAllForms(UserRole.HOD, null, 0);
+        service.getAllForms(UserRole.HOD, null, 1000);
+
+        verify(repository).findPage(any(), eq(ClearanceFormView.Hod.class), any(), any(), eq(4));
+        verify(repository).findPage(any(), eq(ClearanceFormView.Hod.class), any(), any(), eq(6));
+    }
+}
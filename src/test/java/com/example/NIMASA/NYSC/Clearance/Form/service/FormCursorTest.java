@@ -0,0 +1,67 @@
+package com.example.NIMASA.NYSC.Clearance.Form.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormCursorTest {
+
+    @Test
+    void roundTrip() {
+        FormCursor cursor = new FormCursor(LocalDate.of(2024, 2, 29), UUID.randomUUID());
+
+        String encoded = cursor.encode();
+
+        assertEquals(32, encoded.length()); // 24 bytes, unpadded base64
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), "URL-safe: " + encoded);
+        assertEquals(cursor, FormCursor.decode(encoded));
+    }
+
+    @Test
+    void extremeValuesRoundTrip() {
+        assertEquals(FormCursor.START, FormCursor.decode(FormCursor.START.encode()));
+        FormCursor low = new FormCursor(LocalDate.of(1970, 1, 1), new UUID(0, 0));
+        assertEquals(low, FormCursor.decode(low.encode()));
+    }
+
+    @Test
+    void missingCursorIsTheFirstPage() {
+        assertSame(FormCursor.START, FormCursor.decode(null));
+        assertSame(FormCursor.START, FormCursor.decode(""));
+        assertSame(FormCursor.START, FormCursor.decode("  "));
+    }
+
+    @Test
+    void startSortsAfterEveryRealRow() {
+        assertTrue(FormCursor.START.createdAt().isAfter(LocalDate.now().plusYears(1000)));
+        assertEquals(-1L, FormCursor.START.id().getMostSignificantBits());
+        assertEquals(-1L, FormCursor.START.id().getLeastSignificantBits());
+    }
+
+    @Test
+    void tamperedCursorsAreBadRequests() {
+        String valid = new FormCursor(LocalDate.of(2024, 1, 1), UUID.randomUUID()).encode();
+        String[] invalid = {
+                "not a cursor!",
+                valid.substring(0, valid.length() - 1),
+                valid + "AAAA",
+                Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[16]),
+                // epoch day outside LocalDate's range
+                Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        java.nio.ByteBuffer.allocate(24).putLong(Long.MAX_VALUE).array()),
+        };
+
+        for (String cursor : invalid) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> FormCursor.decode(cursor),
+                    cursor);
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+}